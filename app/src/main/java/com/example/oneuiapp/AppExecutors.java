@@ -0,0 +1,90 @@
+package com.example.oneuiapp;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * منفذات مشتركة على مستوى التطبيق
+ * تمنع إنشاء خيوط جديدة في كل شاشة وتبقي عمليات القرص خارج الخيط الرئيسي
+ */
+public final class AppExecutors {
+
+    private static final ExecutorService DISK_IO =
+            Executors.newSingleThreadExecutor(new NamedThreadFactory("app-disk-io"));
+
+    private static final ExecutorService BACKGROUND =
+            Executors.newFixedThreadPool(2, new NamedThreadFactory("app-background"));
+
+    private static final ExecutorService SETTINGS_WRITER =
+            Executors.newSingleThreadExecutor(new NamedThreadFactory("app-settings-writer"));
+
+    private static final ExecutorService SEARCH =
+            Executors.newSingleThreadExecutor(new NamedThreadFactory("app-search"));
+
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+
+    private AppExecutors() {
+    }
+
+    /**
+     * خيط واحد لعمليات القرص، يضمن ترتيب الكتابة
+     */
+    public static ExecutorService diskIO() {
+        return DISK_IO;
+    }
+
+    /**
+     * مجموعة خيوط صغيرة للحسابات الخلفية
+     */
+    public static ExecutorService background() {
+        return BACKGROUND;
+    }
+
+    /**
+     * خيط مخصص لكتابة ملف الإعدادات، منفصل عن QueuedWork وعن سجل الأخطاء
+     */
+    public static ExecutorService settingsWriter() {
+        return SETTINGS_WRITER;
+    }
+
+    /**
+     * خيط واحد يملك فهارس البحث: التحديثات والاستعلامات تُنفذ بترتيب وصولها دون أقفال
+     */
+    public static ExecutorService search() {
+        return SEARCH;
+    }
+
+    public static Handler mainHandler() {
+        return MAIN_HANDLER;
+    }
+
+    public static void runOnMain(Runnable runnable) {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            runnable.run();
+        } else {
+            MAIN_HANDLER.post(runnable);
+        }
+    }
+
+    private static final class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        }
+    }
+}
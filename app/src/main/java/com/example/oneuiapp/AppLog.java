@@ -0,0 +1,265 @@
+package com.example.oneuiapp;
+
+import android.util.Log;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * واجهة تسجيل موحدة للتطبيق
+ * نداء واحد يغذي Logcat ومخزن ملفات الأخطاء والمخزن الدائري في الذاكرة.
+ * المستويات المعطلة لا تُنشئ أي كائن: الحد الأدنى يُحدد وقت الترجمة عبر
+ * BuildConfig.LOG_LEVEL ويمكن رفعه وقت التشغيل عبر setLevel.
+ */
+public final class AppLog {
+
+    public static final int VERBOSE = Log.VERBOSE;
+    public static final int DEBUG = Log.DEBUG;
+    public static final int INFO = Log.INFO;
+    public static final int WARN = Log.WARN;
+    public static final int ERROR = Log.ERROR;
+
+    public static final int NO_EVENT = 0;
+
+    private static final int RING_CAPACITY = 256;
+
+    /**
+     * مصدر رسالة كسول، لا يُستدعى إلا إذا كان المستوى مفعلاً
+     */
+    public interface MessageSupplier {
+        String get();
+    }
+
+    /**
+     * وجهة لأحداث السجل
+     */
+    public interface Sink {
+        void write(int level, String tag, int eventId, String message,
+                   long field1, long field2, Throwable throwable);
+    }
+
+    private static final LogRingBuffer RING_BUFFER = new LogRingBuffer(RING_CAPACITY);
+
+    private static volatile int runtimeLevel = BuildConfig.LOG_LEVEL;
+    private static volatile Sink[] sinks = {new LogcatSink(), new CrashStoreSink(), RING_BUFFER};
+
+    private AppLog() {
+    }
+
+    public static boolean isLoggable(int level) {
+        return level >= BuildConfig.LOG_LEVEL && level >= runtimeLevel;
+    }
+
+    /**
+     * رفع أو خفض مستوى التسجيل وقت التشغيل (لا يمكن النزول تحت حد الترجمة)
+     */
+    public static void setLevel(int level) {
+        runtimeLevel = level;
+    }
+
+    public static LogRingBuffer getRingBuffer() {
+        return RING_BUFFER;
+    }
+
+    public static synchronized void addSink(Sink sink) {
+        Sink[] current = sinks;
+        Sink[] updated = new Sink[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, current.length);
+        updated[current.length] = sink;
+        sinks = updated;
+    }
+
+    // ---- DEBUG ----
+
+    public static void d(String tag, String message) {
+        if (isLoggable(DEBUG)) {
+            dispatch(DEBUG, tag, NO_EVENT, message, 0, 0, null);
+        }
+    }
+
+    public static void d(String tag, String template, long arg) {
+        if (isLoggable(DEBUG)) {
+            dispatch(DEBUG, tag, NO_EVENT, format(template, arg), 0, 0, null);
+        }
+    }
+
+    public static void d(String tag, String template, Object arg) {
+        if (isLoggable(DEBUG)) {
+            dispatch(DEBUG, tag, NO_EVENT, format(template, arg, null), 0, 0, null);
+        }
+    }
+
+    public static void d(String tag, String template, Object arg1, Object arg2) {
+        if (isLoggable(DEBUG)) {
+            dispatch(DEBUG, tag, NO_EVENT, format(template, arg1, arg2), 0, 0, null);
+        }
+    }
+
+    public static void d(String tag, MessageSupplier supplier) {
+        if (isLoggable(DEBUG)) {
+            dispatch(DEBUG, tag, NO_EVENT, supplier.get(), 0, 0, null);
+        }
+    }
+
+    // ---- INFO ----
+
+    public static void i(String tag, String message) {
+        if (isLoggable(INFO)) {
+            dispatch(INFO, tag, NO_EVENT, message, 0, 0, null);
+        }
+    }
+
+    public static void i(String tag, String template, Object arg) {
+        if (isLoggable(INFO)) {
+            dispatch(INFO, tag, NO_EVENT, format(template, arg, null), 0, 0, null);
+        }
+    }
+
+    public static void i(String tag, MessageSupplier supplier) {
+        if (isLoggable(INFO)) {
+            dispatch(INFO, tag, NO_EVENT, supplier.get(), 0, 0, null);
+        }
+    }
+
+    // ---- WARN ----
+
+    public static void w(String tag, String message) {
+        if (isLoggable(WARN)) {
+            dispatch(WARN, tag, NO_EVENT, message, 0, 0, null);
+        }
+    }
+
+    public static void w(String tag, String message, Throwable throwable) {
+        if (isLoggable(WARN)) {
+            dispatch(WARN, tag, NO_EVENT, message, 0, 0, throwable);
+        }
+    }
+
+    // ---- ERROR ----
+
+    /**
+     * تسجيل خطأ في Logcat وحفظه في ملف سجل الأخطاء
+     */
+    public static void e(String tag, String message, Throwable throwable) {
+        if (isLoggable(ERROR)) {
+            dispatch(ERROR, tag, NO_EVENT, message, 0, 0, throwable);
+        }
+    }
+
+    // ---- أحداث منظمة ----
+
+    /**
+     * حدث منظم برقم معرف وحقلين رقميين. الرسالة ثابتة ولا تُنسّق،
+     * لذلك لا يكلف الحدث أي تخصيص للذاكرة حتى عندما يكون مفعلاً.
+     */
+    public static void event(int level, String tag, int eventId, String message, long field1, long field2) {
+        if (isLoggable(level)) {
+            dispatch(level, tag, eventId, message, field1, field2, null);
+        }
+    }
+
+    /**
+     * انتظار انتهاء كتابة ملفات الأخطاء المعلقة (يُستدعى قبل إغلاق التطبيق)
+     */
+    public static void flush(long timeoutMs) {
+        try {
+            Future<?> marker = AppExecutors.diskIO().submit(new Runnable() {
+                @Override
+                public void run() {
+                    // لا شيء: انتظار تفريغ الطابور فقط
+                }
+            });
+            marker.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            Log.w("AppLog", "لم تكتمل كتابة السجلات المعلقة", e);
+        }
+    }
+
+    static String levelName(int level) {
+        switch (level) {
+            case VERBOSE:
+                return "V";
+            case DEBUG:
+                return "D";
+            case INFO:
+                return "I";
+            case WARN:
+                return "W";
+            case ERROR:
+                return "E";
+            default:
+                return "?";
+        }
+    }
+
+    private static void dispatch(int level, String tag, int eventId, String message,
+                                 long field1, long field2, Throwable throwable) {
+        Sink[] current = sinks;
+        for (int i = 0; i < current.length; i++) {
+            try {
+                current[i].write(level, tag, eventId, message, field1, field2, throwable);
+            } catch (Exception e) {
+                Log.e("AppLog", "فشل في كتابة السجل", e);
+            }
+        }
+    }
+
+    private static String format(String template, long arg) {
+        return format(template, Long.valueOf(arg), null);
+    }
+
+    /**
+     * استبدال العلامات {} في القالب بالمعاملات بالترتيب
+     */
+    private static String format(String template, Object arg1, Object arg2) {
+        StringBuilder builder = new StringBuilder(template.length() + 16);
+        int argIndex = 0;
+        int start = 0;
+        int marker;
+        while ((marker = template.indexOf("{}", start)) >= 0 && argIndex < 2) {
+            builder.append(template, start, marker);
+            builder.append(argIndex == 0 ? arg1 : arg2);
+            argIndex++;
+            start = marker + 2;
+        }
+        builder.append(template, start, template.length());
+        return builder.toString();
+    }
+
+    /**
+     * إرسال الأحداث إلى Logcat
+     */
+    private static final class LogcatSink implements Sink {
+        @Override
+        public void write(int level, String tag, int eventId, String message,
+                          long field1, long field2, Throwable throwable) {
+            String text = message;
+            if (eventId != NO_EVENT) {
+                text = message + " [#" + eventId + " " + field1 + " " + field2 + "]";
+            }
+            if (throwable != null) {
+                text = text + '\n' + Log.getStackTraceString(throwable);
+            }
+            Log.println(level, tag, text);
+        }
+    }
+
+    /**
+     * حفظ الأخطاء في مجلد سجلات الأخطاء على خيط القرص
+     */
+    private static final class CrashStoreSink implements Sink {
+        @Override
+        public void write(final int level, final String tag, int eventId, final String message,
+                          long field1, long field2, final Throwable throwable) {
+            if (level < ERROR) {
+                return;
+            }
+            AppExecutors.diskIO().execute(new Runnable() {
+                @Override
+                public void run() {
+                    CrashLogger.writeErrorFile(tag, message, throwable);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.oneuiapp;
+
+import android.os.Build;
+import android.os.Process;
+import android.os.Trace;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * مسجل تتبع خفيف داخل التطبيق
+ * يمرر الأقسام إلى android.os.Trace (لـ systrace/Perfetto) ويحفظها أيضاً في
+ * حلقة ثابتة الحجم في الذاكرة يمكن تصديرها بصيغة Chrome trace-event JSON
+ * من الجهاز دون الحاجة إلى أداة تحليل متصلة.
+ */
+public final class AppTrace {
+
+    private static final int CAPACITY = 8192; // يجب أن يكون من قوى العدد 2
+    private static final int MASK = CAPACITY - 1;
+
+    private static final byte PHASE_BEGIN = 'B';
+    private static final byte PHASE_END = 'E';
+    private static final byte PHASE_ASYNC_BEGIN = 'b';
+    private static final byte PHASE_ASYNC_END = 'e';
+
+    private static final long[] timestamps = new long[CAPACITY];
+    private static final byte[] phases = new byte[CAPACITY];
+    private static final String[] names = new String[CAPACITY];
+    private static final int[] threadIds = new int[CAPACITY];
+    private static final int[] cookies = new int[CAPACITY];
+    private static final AtomicLong cursor = new AtomicLong();
+
+    private static volatile boolean recording = true;
+
+    private AppTrace() {
+    }
+
+    public static void setRecording(boolean enabled) {
+        recording = enabled;
+    }
+
+    /**
+     * بداية قسم متزامن على الخيط الحالي. يجب أن يقابله endSection على نفس الخيط.
+     *
+     * @return وقت البداية بالنانو ثانية لمن يريد قياس المدة
+     */
+    public static long beginSection(String name) {
+        long now = System.nanoTime();
+        Trace.beginSection(name);
+        record(PHASE_BEGIN, name, 0, now);
+        return now;
+    }
+
+    public static void endSection() {
+        Trace.endSection();
+        record(PHASE_END, null, 0, System.nanoTime());
+    }
+
+    /**
+     * نهاية قسم مع تسجيل مدته في مدرج المقاييس الذي يحمل نفس الاسم
+     */
+    public static void endSection(String name, long startNs) {
+        endSection();
+        Metrics.histogram(name).recordSince(startNs);
+    }
+
+    /**
+     * بداية قسم غير متزامن يمكن أن ينتهي على خيط آخر، ويُطابق بالاسم والمعرف
+     */
+    public static void beginAsyncSection(String name, int cookie) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            Trace.beginAsyncSection(name, cookie);
+        }
+        record(PHASE_ASYNC_BEGIN, name, cookie, System.nanoTime());
+    }
+
+    public static void endAsyncSection(String name, int cookie) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            Trace.endAsyncSection(name, cookie);
+        }
+        record(PHASE_ASYNC_END, name, cookie, System.nanoTime());
+    }
+
+    private static void record(byte phase, String name, int cookie, long timestampNs) {
+        if (!recording) {
+            return;
+        }
+        int slot = (int) (cursor.getAndIncrement() & MASK);
+        timestamps[slot] = timestampNs;
+        phases[slot] = phase;
+        names[slot] = name;
+        threadIds[slot] = Process.myTid();
+        cookies[slot] = cookie;
+    }
+
+    /**
+     * كتابة الأحداث المسجلة من الأقدم إلى الأحدث بصيغة Chrome trace-event.
+     * الحلقة لا تُقفل أثناء القراءة، لذا قد يظهر حدث ناقص إذا كتبت خيوط أخرى في نفس اللحظة.
+     */
+    public static void writeChromeJson(Writer out) throws IOException {
+        long end = cursor.get();
+        long start = Math.max(0, end - CAPACITY);
+        int pid = Process.myPid();
+
+        out.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+        boolean first = true;
+        for (long i = start; i < end; i++) {
+            int slot = (int) (i & MASK);
+            byte phase = phases[slot];
+            String name = names[slot];
+            if (phase == 0 || (phase != PHASE_END && name == null)) {
+                continue;
+            }
+
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+
+            out.write("{\"ph\":\"");
+            out.write((char) phase);
+            out.write("\",\"pid\":");
+            out.write(Integer.toString(pid));
+            out.write(",\"tid\":");
+            out.write(Integer.toString(threadIds[slot]));
+            out.write(",\"ts\":");
+            // Chrome يتوقع الميكروثانية
+            long nanos = timestamps[slot];
+            out.write(Long.toString(nanos / 1000));
+            out.write('.');
+            out.write(Long.toString((nanos % 1000) / 100));
+            if (name != null) {
+                out.write(",\"name\":\"");
+                writeEscaped(out, name);
+                out.write('"');
+            }
+            if (phase == PHASE_ASYNC_BEGIN || phase == PHASE_ASYNC_END) {
+                out.write(",\"cat\":\"app\",\"id\":");
+                out.write(Integer.toString(cookies[slot]));
+            }
+            out.write('}');
+        }
+        out.write("]}");
+    }
+
+    private static void writeEscaped(Writer out, String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.write('\\');
+                out.write(c);
+            } else if (c < 0x20) {
+                out.write(' ');
+            } else {
+                out.write(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.oneuiapp;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.os.Parcelable;
+import android.text.TextUtils;
+import android.util.TypedValue;
+import android.view.View;
+import android.widget.TextView;
+
+import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * إعادة تطبيق اللغة والمظهر على شاشة قائمة دون Activity.recreate()
+ * تسجل الشاشة نصوصها وألوانها الثابتة ومستمعين لما يحتاج منطقاً خاصاً (القوائم والعناوين)،
+ * ثم تُعاد قراءة النصوص والألوان في مكانها. إعادة الإنشاء الكاملة مطلوبة فقط عندما
+ * ينقلب اتجاه التخطيط بين LTR و RTL.
+ */
+public final class ConfigRebinder {
+
+    public static final int CHANGE_LANGUAGE = 1;
+    public static final int CHANGE_THEME = 1 << 1;
+
+    private static final Metrics.Counter IN_PLACE_REBINDS = Metrics.counter("activity.in_place_rebinds");
+
+    public interface Listener {
+        /**
+         * @param context سياق بالإعدادات الجديدة لقراءة النصوص والألوان
+         * @param changes مزيج من CHANGE_LANGUAGE و CHANGE_THEME
+         */
+        void onRebind(Context context, int changes);
+    }
+
+    private final Activity activity;
+    private final LanguageManager languageManager;
+    private final List<Listener> listeners = new ArrayList<>();
+    private final List<TextBinding> textBindings = new ArrayList<>();
+    private final List<ColorBinding> colorBindings = new ArrayList<>();
+
+    private String renderedLanguage;
+    private int renderedNightMode;
+
+    public ConfigRebinder(Activity activity) {
+        this.activity = activity;
+        this.languageManager = LanguageManager.getInstance(activity);
+        this.renderedLanguage = languageManager.getCurrentLanguage();
+        this.renderedNightMode = getNightMode(activity.getResources().getConfiguration());
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void bindText(TextView view, int stringRes) {
+        textBindings.add(new TextBinding(view, stringRes));
+    }
+
+    public void bindBackgroundColor(View view, int colorRes) {
+        colorBindings.add(new ColorBinding(view, colorRes, false));
+    }
+
+    public void bindTextColor(TextView view, int colorRes) {
+        colorBindings.add(new ColorBinding(view, colorRes, true));
+    }
+
+    /**
+     * تطبيق لغة جديدة في مكانها إن أمكن
+     *
+     * @return false إذا انقلب اتجاه التخطيط ويجب على الشاشة استدعاء recreate()
+     */
+    public boolean rebindLanguage() {
+        String language = languageManager.getCurrentLanguage();
+        if (language.equals(renderedLanguage)) {
+            return true;
+        }
+        if (isLayoutDirectionFlip(renderedLanguage, language)) {
+            return false;
+        }
+        renderedLanguage = language;
+        dispatch(CHANGE_LANGUAGE);
+        return true;
+    }
+
+    /**
+     * يُستدعى من onConfigurationChanged. يتطلب وجود uiMode في configChanges
+     * حتى يمرر AppCompat تغيير الوضع الليلي بدلاً من إعادة إنشاء الشاشة.
+     */
+    public void onConfigurationChanged(Configuration newConfig) {
+        int nightMode = getNightMode(newConfig);
+        if (nightMode != renderedNightMode) {
+            renderedNightMode = nightMode;
+            dispatch(CHANGE_THEME);
+        }
+    }
+
+    private void dispatch(int changes) {
+        long start = AppTrace.beginSection("ConfigRebinder.dispatch");
+        // سياق الشاشة نفسه إذا كانت لغته مطابقة، وإلا سياق مخزن للغة الجديدة
+        Context context = languageManager.createLanguageContext(activity, renderedLanguage);
+
+        if ((changes & CHANGE_LANGUAGE) != 0) {
+            // النصوص من سياق التطبيق المخزن للغة؛ موارد الشاشة نفسها لا تُعدَّل أبداً
+            Context strings = languageManager.getLocalizedContext(renderedLanguage);
+            for (TextBinding binding : textBindings) {
+                binding.view.setText(strings.getString(binding.stringRes));
+            }
+        }
+        if ((changes & CHANGE_THEME) != 0) {
+            applyWindowBackground();
+            for (ColorBinding binding : colorBindings) {
+                int color = ContextCompat.getColor(context, binding.colorRes);
+                if (binding.textColor) {
+                    ((TextView) binding.view).setTextColor(color);
+                } else {
+                    binding.view.setBackgroundColor(color);
+                }
+            }
+        }
+        for (Listener listener : listeners) {
+            listener.onRebind(context, changes);
+        }
+        IN_PLACE_REBINDS.increment();
+        AppTrace.endSection("ConfigRebinder.dispatch", start);
+    }
+
+    private void applyWindowBackground() {
+        TypedValue value = new TypedValue();
+        if (activity.getTheme().resolveAttribute(android.R.attr.windowBackground, value, true)
+                && value.resourceId != 0) {
+            activity.getWindow().setBackgroundDrawable(ContextCompat.getDrawable(activity, value.resourceId));
+        }
+    }
+
+    /**
+     * إعادة تضخيم صفوف القائمة حتى تُقرأ ألوان المظهر من جديد، مع الاحتفاظ بالبيانات وموضع التمرير
+     */
+    public static void reinflateRows(RecyclerView recyclerView) {
+        RecyclerView.Adapter<?> adapter = recyclerView.getAdapter();
+        if (adapter == null) {
+            return;
+        }
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        Parcelable state = layoutManager != null ? layoutManager.onSaveInstanceState() : null;
+
+        recyclerView.setAdapter(null);
+        recyclerView.getRecycledViewPool().clear();
+        recyclerView.setAdapter(adapter);
+
+        if (layoutManager != null && state != null) {
+            layoutManager.onRestoreInstanceState(state);
+        }
+    }
+
+    public static boolean isLayoutDirectionFlip(String fromLanguage, String toLanguage) {
+        return TextUtils.getLayoutDirectionFromLocale(new Locale(fromLanguage))
+                != TextUtils.getLayoutDirectionFromLocale(new Locale(toLanguage));
+    }
+
+    private static int getNightMode(Configuration configuration) {
+        return configuration.uiMode & Configuration.UI_MODE_NIGHT_MASK;
+    }
+
+    private static final class TextBinding {
+        final TextView view;
+        final int stringRes;
+
+        TextBinding(TextView view, int stringRes) {
+            this.view = view;
+            this.stringRes = stringRes;
+        }
+    }
+
+    private static final class ColorBinding {
+        final View view;
+        final int colorRes;
+        final boolean textColor;
+
+        ColorBinding(View view, int colorRes, boolean textColor) {
+            this.view = view;
+            this.colorRes = colorRes;
+            this.textColor = textColor;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.oneuiapp;
+
+import android.content.Context;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * مخزن إعدادات المظهر على مستوى التطبيق
+ * يُحمّل مرة واحدة على خيط القرص عند بدء التطبيق ثم تُخدم كل القراءات من الذاكرة.
+ * لا يُكتب إلى القرص إلا عند تغيير حقيقي في القيمة، فلا تقوم الشاشات بأي عمليات
+ * على التفضيلات أثناء إنشائها.
+ *
+ * كل تغيير يرفع رقم إصدار متزايد. كل شاشة تحفظ الإصدار الذي رُسمت به، وتتفاعل
+ * مرة واحدة فقط إذا أصبح إصدارها قديماً، بدلاً من أعلام "تغيّر" يمسحها أول من يقرأها.
+ */
+public final class ConfigStore {
+
+    // نفس المفاتيح التي كانت في theme_preferences و language_preferences حتى يعمل الترحيل مباشرة
+    static final String KEY_THEME = "selected_theme";
+    static final String KEY_LANGUAGE = "selected_language";
+
+    private static volatile ConfigStore instance;
+
+    private final SettingsFile settings;
+    private final CountDownLatch loaded = new CountDownLatch(1);
+    private volatile boolean loadScheduled;
+
+    // القيم المحفوظة، null تعني أن المستخدم لم يختر بعد
+    private volatile String theme;
+    private volatile String language;
+
+    // يبقى في الذاكرة فقط، كل عملية جديدة تبدأ من الصفر وكل شاشاتها جديدة أيضاً
+    private final AtomicLong version = new AtomicLong();
+    private final List<OnConfigChangedListener> listeners = new CopyOnWriteArrayList<>();
+
+    private ConfigStore(Context context) {
+        this.settings = new SettingsFile(context);
+    }
+
+    /**
+     * بدء التحميل على خيط القرص. يُستدعى من Application.onCreate
+     */
+    public static void preload(Context context) {
+        final ConfigStore store = getStore(context);
+        store.loadScheduled = true;
+        AppExecutors.diskIO().execute(new Runnable() {
+            @Override
+            public void run() {
+                store.load();
+            }
+        });
+    }
+
+    /**
+     * المخزن جاهز للقراءة. إذا لم ينته التحميل بعد (نادر) ننتظره هنا.
+     */
+    public static ConfigStore getInstance(Context context) {
+        ConfigStore store = getStore(context);
+        store.awaitLoaded();
+        return store;
+    }
+
+    private static ConfigStore getStore(Context context) {
+        ConfigStore store = instance;
+        if (store == null) {
+            synchronized (ConfigStore.class) {
+                store = instance;
+                if (store == null) {
+                    store = new ConfigStore(context);
+                    instance = store;
+                }
+            }
+        }
+        return store;
+    }
+
+    private synchronized void load() {
+        if (loaded.getCount() == 0) {
+            return;
+        }
+        long start = AppTrace.beginSection("ConfigStore.load");
+        try {
+            settings.load();
+            theme = settings.getString(KEY_THEME, null);
+            language = settings.getString(KEY_LANGUAGE, null);
+        } finally {
+            AppTrace.endSection("ConfigStore.load", start);
+            loaded.countDown();
+        }
+    }
+
+    private void awaitLoaded() {
+        if (loaded.getCount() == 0) {
+            return;
+        }
+        if (!loadScheduled) {
+            // لم يُستدع preload (مثلاً عملية بدون Application)، نحمّل مباشرة
+            load();
+            return;
+        }
+        boolean interrupted = false;
+        while (loaded.getCount() > 0) {
+            try {
+                loaded.await();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public String getTheme() {
+        return theme;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    /**
+     * @return true إذا تغيرت القيمة فعلاً وجُدولت كتابتها
+     */
+    public boolean setTheme(String value) {
+        if (value.equals(theme)) {
+            return false;
+        }
+        theme = value;
+        settings.putString(KEY_THEME, value);
+        publish();
+        return true;
+    }
+
+    public boolean setLanguage(String value) {
+        if (value.equals(language)) {
+            return false;
+        }
+        language = value;
+        settings.putString(KEY_LANGUAGE, value);
+        publish();
+        return true;
+    }
+
+    /**
+     * ملف الإعدادات المشترك لبقية التفضيلات (يُستخدم من شاشة الإعدادات)
+     */
+    public SettingsFile getSettings() {
+        return settings;
+    }
+
+    /**
+     * الإصدار الحالي للإعدادات، تحفظه الشاشة في onCreate قبل تطبيق المظهر واللغة
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * @return true إذا تغيرت الإعدادات بعد أن رُسمت الشاشة بالإصدار المعطى
+     */
+    public boolean isStale(long renderedVersion) {
+        return version.get() != renderedVersion;
+    }
+
+    public void addListener(OnConfigChangedListener listener) {
+        if (!listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    public void removeListener(OnConfigChangedListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void publish() {
+        final long newVersion = version.incrementAndGet();
+        if (listeners.isEmpty()) {
+            return;
+        }
+        AppExecutors.runOnMain(new Runnable() {
+            @Override
+            public void run() {
+                for (OnConfigChangedListener listener : listeners) {
+                    listener.onConfigChanged(newVersion);
+                }
+            }
+        });
+    }
+
+    /**
+     * يُستدعى على الخيط الرئيسي بعد كل تغيير حقيقي
+     */
+    public interface OnConfigChangedListener {
+        void onConfigChanged(long version);
+    }
+}
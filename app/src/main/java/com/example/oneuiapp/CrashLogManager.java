@@ -3,8 +3,12 @@ package com.example.oneuiapp;
 import android.content.Context;
 import android.os.Environment;
 import android.util.Log;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileFilter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -41,38 +45,44 @@ public class CrashLogManager {
      * الحصول على قائمة بجميع ملفات السجل
      */
     public List<File> getAllLogFiles() {
-        File logDir = getCrashLogDirectory();
-        if (!logDir.exists()) {
-            return new ArrayList<>();
-        }
-        
-        File[] files = logDir.listFiles(new FileFilter() {
-            @Override
-            public boolean accept(File file) {
-                return file.isFile() && file.getName().endsWith(".txt");
+        AppTrace.beginSection("CrashLogManager.getAllLogFiles");
+        try {
+            File logDir = getCrashLogDirectory();
+            if (!logDir.exists()) {
+                return new ArrayList<>();
             }
-        });
-        
-        if (files == null) {
-            return new ArrayList<>();
-        }
-        
-        List<File> logFiles = Arrays.asList(files);
-        // ترتيب الملفات حسب التاريخ (الأحدث أولاً)
-        logFiles.sort(new Comparator<File>() {
-            @Override
-            public int compare(File f1, File f2) {
-                return Long.compare(f2.lastModified(), f1.lastModified());
+            
+            File[] files = logDir.listFiles(new FileFilter() {
+                @Override
+                public boolean accept(File file) {
+                    return file.isFile() && file.getName().endsWith(".txt");
+                }
+            });
+            
+            if (files == null) {
+                return new ArrayList<>();
             }
-        });
-        
-        return logFiles;
+            
+            List<File> logFiles = Arrays.asList(files);
+            // ترتيب الملفات حسب التاريخ (الأحدث أولاً)
+            logFiles.sort(new Comparator<File>() {
+                @Override
+                public int compare(File f1, File f2) {
+                    return Long.compare(f2.lastModified(), f1.lastModified());
+                }
+            });
+            
+            return logFiles;
+        } finally {
+            AppTrace.endSection();
+        }
     }
     
     /**
      * حذف ملف سجل محدد
      */
     public boolean deleteLogFile(File logFile) {
+        AppTrace.beginSection("CrashLogManager.deleteLogFile");
         try {
             if (logFile.exists()) {
                 boolean deleted = logFile.delete();
@@ -83,6 +93,8 @@ public class CrashLogManager {
             }
         } catch (Exception e) {
             Log.e(TAG, "فشل في حذف ملف السجل", e);
+        } finally {
+            AppTrace.endSection();
         }
         return false;
     }
@@ -151,6 +163,11 @@ public class CrashLogManager {
         long totalSize = 0;
         for (File file : logFiles) {
             totalSize += file.length();
+            if (file.getName().startsWith("crash_log_")) {
+                info.crashFiles++;
+            } else if (file.getName().startsWith("error_log_")) {
+                info.errorFiles++;
+            }
         }
         info.totalSizeBytes = totalSize;
         
@@ -167,6 +184,8 @@ public class CrashLogManager {
      */
     public static class LogFileInfo {
         public int totalFiles = 0;
+        public int crashFiles = 0;
+        public int errorFiles = 0;
         public long totalSizeBytes = 0;
         public File oldestFile = null;
         public File newestFile = null;
@@ -198,6 +217,39 @@ public class CrashLogManager {
         }
     }
     
+    /**
+     * تصدير سجل التتبع الحالي بصيغة Chrome trace-event JSON إلى مجلد السجلات
+     * يمكن فتح الملف في chrome://tracing أو ui.perfetto.dev
+     */
+    public File exportTrace() {
+        AppTrace.beginSection("CrashLogManager.exportTrace");
+        try {
+            File logDir = getCrashLogDirectory();
+            if (!logDir.exists() && !logDir.mkdirs()) {
+                Log.e(TAG, "فشل في إنشاء مجلد السجلات لتصدير التتبع");
+                return null;
+            }
+            
+            SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss", Locale.getDefault());
+            File traceFile = new File(logDir, "trace_" + dateFormat.format(new Date()) + ".json");
+            
+            Writer writer = new BufferedWriter(new FileWriter(traceFile));
+            try {
+                AppTrace.writeChromeJson(writer);
+            } finally {
+                writer.close();
+            }
+            
+            Log.d(TAG, "تم تصدير التتبع إلى: " + traceFile.getAbsolutePath());
+            return traceFile;
+        } catch (IOException e) {
+            Log.e(TAG, "فشل في تصدير التتبع", e);
+            return null;
+        } finally {
+            AppTrace.endSection();
+        }
+    }
+    
     /**
      * إنشاء تقرير موجز عن حالة التطبيق (للمطورين)
      */
@@ -212,6 +264,10 @@ public class CrashLogManager {
         report.append("أقدم ملف: ").append(info.getOldestFileDate()).append("\n");
         report.append("أحدث ملف: ").append(info.getNewestFileDate()).append("\n");
         report.append("مسار مجلد السجلات: ").append(getCrashLogDirectory().getAbsolutePath()).append("\n");
+        report.append("======== ذاكرة الشاشات ========\n");
+        ScreenTelemetry.appendReport(report);
+        report.append("======== مقاييس الأداء ========\n");
+        Metrics.snapshot().appendReport(report);
         report.append("================================\n");
         
         return report.toString();
@@ -15,6 +15,10 @@ import java.util.Locale;
 public class CrashLogger implements Thread.UncaughtExceptionHandler {
     private static final String TAG = "CrashLogger";
     private static final String CRASH_LOG_FOLDER = "OneUiApp_CrashLogs";
+    private static final long CRASH_FLUSH_TIMEOUT_MS = 500;
+    
+    private static final Metrics.Counter LOG_WRITES = Metrics.counter("crash_log.writes");
+    private static final Metrics.Histogram LOG_WRITE_TIME = Metrics.histogram("crash_log.write_time");
     
     private Context context;
     private Thread.UncaughtExceptionHandler defaultHandler;
@@ -52,6 +56,9 @@ public class CrashLogger implements Thread.UncaughtExceptionHandler {
     @Override
     public void uncaughtException(Thread thread, Throwable ex) {
         try {
+            // إتمام كتابة ملفات الأخطاء المعلقة قبل الإغلاق
+            AppLog.flush(CRASH_FLUSH_TIMEOUT_MS);
+            
             // تسجيل الخطأ في ملف
             logCrashToFile(thread, ex);
             
@@ -71,6 +78,7 @@ public class CrashLogger implements Thread.UncaughtExceptionHandler {
     }
     
     private void logCrashToFile(Thread thread, Throwable ex) {
+        AppTrace.beginSection("CrashLogger.logCrashToFile");
         try {
             // إنشاء اسم الملف مع الطابع الزمني
             SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss", Locale.getDefault());
@@ -118,13 +126,23 @@ public class CrashLogger implements Thread.UncaughtExceptionHandler {
             printWriter.println("مستوى API: " + android.os.Build.VERSION.SDK_INT);
             printWriter.println("المعالج: " + android.os.Build.HARDWARE);
             
+            // آخر أحداث السجل قبل الانهيار
+            printWriter.println();
+            printWriter.println("======== آخر أحداث السجل ========");
+            StringBuilder recentLogs = new StringBuilder();
+            AppLog.getRingBuffer().dump(recentLogs);
+            printWriter.print(recentLogs);
+            
             printWriter.close();
             writer.close();
             
+            LOG_WRITES.increment();
             Log.i(TAG, "تم حفظ تقرير الخطأ في: " + logFile.getAbsolutePath());
             
         } catch (IOException e) {
             Log.e(TAG, "فشل في كتابة ملف سجل الخطأ", e);
+        } finally {
+            AppTrace.endSection();
         }
     }
     
@@ -139,10 +157,14 @@ public class CrashLogger implements Thread.UncaughtExceptionHandler {
     
     // طريقة لتسجيل الأخطاء يدوياً
     public static void logError(String tag, String message, Throwable throwable) {
+        Log.e(tag, message, throwable);
+        writeErrorFile(tag, message, throwable);
+    }
+    
+    // حفظ الخطأ في ملف منفصل (تستخدمها AppLog على خيط القرص)
+    static void writeErrorFile(String tag, String message, Throwable throwable) {
+        long start = AppTrace.beginSection("CrashLogger.writeErrorFile");
         try {
-            Log.e(tag, message, throwable);
-            
-            // حفظ الخطأ في ملف منفصل
             SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss", Locale.getDefault());
             String timestamp = dateFormat.format(new Date());
             String fileName = "error_log_" + timestamp + ".txt";
@@ -170,8 +192,13 @@ public class CrashLogger implements Thread.UncaughtExceptionHandler {
             printWriter.close();
             writer.close();
             
+            LOG_WRITES.increment();
+            
         } catch (Exception e) {
             Log.e(TAG, "فشل في تسجيل الخطأ اليدوي", e);
+        } finally {
+            AppTrace.endSection();
+            LOG_WRITE_TIME.recordSince(start);
         }
     }
             }
@@ -11,8 +11,28 @@ public class CrashReportApplication extends Application {
         super.onCreate();
         context = getApplicationContext();
         
+        // تحميل إعدادات المظهر واللغة على خيط القرص قبل فتح أول شاشة
+        ConfigStore.preload(this);
+        
+        // تحضير نصوص اللغة الأخرى عند أول خمول
+        LocalePrewarmer.install(this);
+        
         // تشغيل نظام تسجيل الأخطاء
         CrashLogger.initialize(this);
+        
+        // مراقبة الأداء لشاشة التشخيص
+        registerActivityLifecycleCallbacks(new FrameMonitor());
+        if (BuildConfig.DEBUG) {
+            MainThreadMonitor.install();
+        }
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        // ذاكرات يمكن إعادة بنائها عند الحاجة
+        DrawableCache.getInstance().onTrimMemory(level);
+        ListStateCache.getInstance().onTrimMemory(level);
     }
 
     public static Context getAppContext() {
@@ -0,0 +1,211 @@
+package com.example.oneuiapp;
+
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.widget.Toolbar;
+
+import com.google.android.material.appbar.CollapsingToolbarLayout;
+
+import android.content.Context;
+import android.os.Bundle;
+import android.view.MenuItem;
+import android.view.View;
+import android.view.ViewTreeObserver;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import java.io.File;
+import java.util.concurrent.Future;
+
+public class DiagnosticsActivity extends AppCompatActivity {
+
+    private static final long REFRESH_INTERVAL_MS = 2000;
+
+    private CollapsingToolbarLayout collapsingToolbar;
+    private Toolbar toolbar;
+    private TextView framesTextView;
+    private TextView startupTextView;
+    private TextView logStoreTextView;
+    private TextView memoryTextView;
+    private TextView slowMessagesTextView;
+    private ThemeManager themeManager;
+    private LanguageManager languageManager;
+    private long renderedConfigVersion;
+    private DiagnosticsCollector collector;
+    private Future<?> pendingCollection;
+    private boolean refreshing = false;
+
+    // Runs on the main thread, hands the actual collection to a background executor
+    private final Runnable refreshRunnable = new Runnable() {
+        @Override
+        public void run() {
+            if (!refreshing || (pendingCollection != null && !pendingCollection.isDone())) {
+                return;
+            }
+            pendingCollection = AppExecutors.background().submit(new Runnable() {
+                @Override
+                public void run() {
+                    final DiagnosticsCollector.Report report = collector.collect();
+                    AppExecutors.mainHandler().post(new Runnable() {
+                        @Override
+                        public void run() {
+                            showReport(report);
+                        }
+                    });
+                }
+            });
+            AppExecutors.mainHandler().postDelayed(this, REFRESH_INTERVAL_MS);
+        }
+    };
+
+    // Removes itself on the next frame; the post then runs once that frame has been drawn
+    private final ViewTreeObserver.OnPreDrawListener startAfterDraw = new ViewTreeObserver.OnPreDrawListener() {
+        @Override
+        public boolean onPreDraw() {
+            View decorView = getWindow().getDecorView();
+            decorView.getViewTreeObserver().removeOnPreDrawListener(this);
+            decorView.post(refreshRunnable);
+            return true;
+        }
+    };
+
+    @Override
+    protected void attachBaseContext(Context newBase) {
+        // Localize resources for this activity only; cached per language
+        super.attachBaseContext(LanguageManager.getInstance(newBase).wrapContext(newBase));
+    }
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        // Remember which settings version this screen is rendered with
+        renderedConfigVersion = ConfigStore.getInstance(this).getVersion();
+
+        // Initialize managers before calling super.onCreate()
+        languageManager = LanguageManager.getInstance(this);
+        themeManager = ThemeManager.getInstance(this);
+
+        // Apply language and theme settings
+        languageManager.applyLanguage();
+        themeManager.applyTheme();
+
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_diagnostics);
+
+        collector = new DiagnosticsCollector(this);
+
+        initViews();
+        setupToolbar();
+    }
+
+    private void initViews() {
+        collapsingToolbar = findViewById(R.id.collapsing_toolbar);
+        toolbar = findViewById(R.id.toolbar);
+        framesTextView = findViewById(R.id.diagnostics_frames);
+        startupTextView = findViewById(R.id.diagnostics_startup);
+        logStoreTextView = findViewById(R.id.diagnostics_log_store);
+        memoryTextView = findViewById(R.id.diagnostics_memory);
+        slowMessagesTextView = findViewById(R.id.diagnostics_slow_messages);
+
+        // Check if required views are found
+        if (toolbar == null) {
+            throw new RuntimeException("Toolbar not found in layout. Make sure R.id.toolbar exists in activity_diagnostics.xml");
+        }
+
+        findViewById(R.id.diagnostics_export_trace).setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                exportTrace();
+            }
+        });
+    }
+
+    private void setupToolbar() {
+        setSupportActionBar(toolbar);
+        if (getSupportActionBar() != null) {
+            getSupportActionBar().setDisplayHomeAsUpEnabled(true);
+            getSupportActionBar().setDisplayShowHomeEnabled(true);
+            getSupportActionBar().setDisplayShowTitleEnabled(collapsingToolbar == null);
+            getSupportActionBar().setTitle(getString(R.string.performance_diagnostics));
+        }
+        if (collapsingToolbar != null) {
+            collapsingToolbar.setTitle(getString(R.string.performance_diagnostics));
+            collapsingToolbar.seslEnableFadeToolbarTitle(true);
+        }
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+
+        // Handle configuration changes
+        handleConfigurationChanges();
+
+        // Start collecting only after the first frame is drawn so opening the screen stays smooth
+        refreshing = true;
+        View decorView = getWindow().getDecorView();
+        decorView.getViewTreeObserver().removeOnPreDrawListener(startAfterDraw);
+        decorView.getViewTreeObserver().addOnPreDrawListener(startAfterDraw);
+        decorView.invalidate();
+    }
+
+    @Override
+    protected void onPause() {
+        refreshing = false;
+        getWindow().getDecorView().getViewTreeObserver().removeOnPreDrawListener(startAfterDraw);
+        getWindow().getDecorView().removeCallbacks(refreshRunnable);
+        AppExecutors.mainHandler().removeCallbacks(refreshRunnable);
+        super.onPause();
+    }
+
+    private void showReport(DiagnosticsCollector.Report report) {
+        if (isFinishing() || isDestroyed()) {
+            return;
+        }
+        framesTextView.setText(report.frames);
+        startupTextView.setText(report.startup);
+        logStoreTextView.setText(report.logStore);
+        memoryTextView.setText(report.memory);
+        slowMessagesTextView.setText(report.slowMessages);
+    }
+
+    private void exportTrace() {
+        final CrashLogManager crashLogManager = new CrashLogManager(getApplicationContext());
+        AppExecutors.diskIO().execute(new Runnable() {
+            @Override
+            public void run() {
+                final File traceFile = crashLogManager.exportTrace();
+                AppExecutors.mainHandler().post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (isFinishing() || isDestroyed()) {
+                            return;
+                        }
+                        if (traceFile != null) {
+                            Toast.makeText(DiagnosticsActivity.this,
+                                    getString(R.string.diagnostics_trace_exported, traceFile.getName()),
+                                    Toast.LENGTH_LONG).show();
+                        } else {
+                            Toast.makeText(DiagnosticsActivity.this,
+                                    R.string.diagnostics_trace_export_failed, Toast.LENGTH_SHORT).show();
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    @Override
+    public boolean onOptionsItemSelected(MenuItem item) {
+        if (item.getItemId() == android.R.id.home) {
+            onBackPressed();
+            return true;
+        }
+        return super.onOptionsItemSelected(item);
+    }
+
+    private void handleConfigurationChanges() {
+        if (ConfigStore.getInstance(this).isStale(renderedConfigVersion)) {
+            // Recreate activity to apply changes
+            recreate();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.oneuiapp;
+
+import android.content.Context;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * جمع بيانات شاشة التشخيص
+ * كل الدوال هنا تقرأ من القرص أو تمر على المقاييس، لذا تُستدعى على خيط خلفي فقط.
+ */
+public class DiagnosticsCollector {
+
+    private final Context context;
+    private final CrashLogManager crashLogManager;
+
+    public DiagnosticsCollector(Context context) {
+        this.context = LanguageManager.getInstance(context).getLocalizedContext();
+        this.crashLogManager = new CrashLogManager(context.getApplicationContext());
+    }
+
+    public Report collect() {
+        Metrics.Snapshot snapshot = Metrics.snapshot();
+
+        Report report = new Report();
+        report.frames = collectFrames(snapshot);
+        report.startup = collectStartup(snapshot);
+        report.logStore = collectLogStore();
+        report.memory = collectMemory();
+        report.slowMessages = collectSlowMessages();
+        return report;
+    }
+
+    private String collectFrames(Metrics.Snapshot snapshot) {
+        if (!FrameMonitor.isSupported()) {
+            return context.getString(R.string.diagnostics_not_available);
+        }
+        long frames = FrameMonitor.FRAME_COUNT.sum();
+        long janky = FrameMonitor.JANKY_FRAMES.sum();
+        long frozen = FrameMonitor.FROZEN_FRAMES.sum();
+
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format(Locale.US, "frames=%d janky=%d (%.1f%%) frozen=%d\n",
+                frames, janky, frames == 0 ? 0.0 : janky * 100.0 / frames, frozen));
+        for (Metrics.HistogramValue histogram : snapshot.histograms) {
+            if (histogram.name.startsWith("frame.")) {
+                appendHistogram(builder, histogram);
+            }
+        }
+        return builder.toString().trim();
+    }
+
+    private String collectStartup(Metrics.Snapshot snapshot) {
+        StringBuilder builder = new StringBuilder();
+        for (Metrics.HistogramValue histogram : snapshot.histograms) {
+            // أقسام onCreate تُسجل بأسماء مثل MainActivity.applyTheme
+            if (histogram.name.contains("Activity.")) {
+                appendHistogram(builder, histogram);
+            }
+        }
+        return builder.length() > 0 ? builder.toString().trim() : context.getString(R.string.diagnostics_nothing_recorded);
+    }
+
+    private String collectLogStore() {
+        CrashLogManager.LogFileInfo info = crashLogManager.getLogFileInfo();
+        StringBuilder builder = new StringBuilder();
+        builder.append("files=").append(info.totalFiles)
+                .append(" crash=").append(info.crashFiles)
+                .append(" error=").append(info.errorFiles).append("\n");
+        builder.append("size=").append(info.getTotalSizeFormatted()).append("\n");
+        builder.append("oldest=").append(info.getOldestFileDate()).append("\n");
+        builder.append("newest=").append(info.getNewestFileDate()).append("\n");
+        builder.append("ring=").append(AppLog.getRingBuffer().size());
+        return builder.toString();
+    }
+
+    private String collectMemory() {
+        ScreenTelemetry.MemorySample sample = ScreenTelemetry.MemorySample.capture();
+        long maxHeap = Runtime.getRuntime().maxMemory();
+
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format(Locale.US, "java=%.1fMB / %.1fMB  native=%.1fMB\n",
+                sample.javaHeapUsed / 1048576.0, maxHeap / 1048576.0,
+                sample.nativeHeapAllocated / 1048576.0));
+        builder.append(String.format(Locale.US, "gc=%d (%dms)  blocking=%d (%dms)\n",
+                sample.gcCount, sample.gcTimeMs, sample.blockingGcCount, sample.blockingGcTimeMs));
+        ScreenTelemetry.appendReport(builder);
+        return builder.toString().trim();
+    }
+
+    private String collectSlowMessages() {
+        if (!MainThreadMonitor.isInstalled()) {
+            return context.getString(R.string.diagnostics_not_available);
+        }
+        List<MainThreadMonitor.SlowMessage> messages = MainThreadMonitor.getSlowestMessages();
+        if (messages.isEmpty()) {
+            return context.getString(R.string.diagnostics_nothing_recorded);
+        }
+        StringBuilder builder = new StringBuilder();
+        for (MainThreadMonitor.SlowMessage message : messages) {
+            builder.append(message.durationMs).append("ms  ").append(message.description).append("\n");
+        }
+        return builder.toString().trim();
+    }
+
+    private static void appendHistogram(StringBuilder builder, Metrics.HistogramValue histogram) {
+        builder.append(String.format(Locale.US, "%s: n=%d p50=%.1fms p90=%.1fms max=%.1fms\n",
+                histogram.name, histogram.count,
+                histogram.p50Ns / 1_000_000.0, histogram.p90Ns / 1_000_000.0,
+                histogram.maxNs / 1_000_000.0));
+    }
+
+    /**
+     * نصوص الأقسام الجاهزة للعرض
+     */
+    public static class Report {
+        public String frames;
+        public String startup;
+        public String logStore;
+        public String memory;
+        public String slowMessages;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.oneuiapp;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.graphics.drawable.Drawable;
+import android.util.LongSparseArray;
+import android.widget.ImageView;
+
+import androidx.core.content.ContextCompat;
+
+/**
+ * ذاكرة أيقونات القوائم والقائمة الجانبية
+ *
+ * تحفظ ConstantState لكل أيقونة مرة واحدة، وكل ربط يأخذ نسخة جديدة منها تشارك الصورة
+ * نفسها بدل قراءة المورد وتحليله من جديد. المفتاح هو رقم المورد مع الوضع الليلي في
+ * رقم long واحد، فالبحث لا يغلف أي قيمة. عند تجاوز الحد تُحذف الأقدم استخداماً.
+ *
+ * تُفرغ عند تغيير المظهر (ThemeManager) وعند ضغط الذاكرة (onTrimMemory).
+ * تُستخدم من الخيط الرئيسي فقط.
+ */
+public final class DrawableCache {
+
+    private static final String TAG = "DrawableCache";
+
+    // الأيقونات المستخدمة قليلة (6-8 للقوائم وبضع للقائمة الجانبية) مع هامش للوضعين
+    private static final int MAX_ENTRIES = 32;
+
+    private static final Metrics.Counter HITS = Metrics.counter("drawables.cache_hits");
+    private static final Metrics.Counter MISSES = Metrics.counter("drawables.cache_misses");
+
+    private static final DrawableCache INSTANCE = new DrawableCache();
+
+    private final LongSparseArray<Entry> entries = new LongSparseArray<>();
+    // عداد استخدام بدل الوقت لترتيب الحذف
+    private long useCounter;
+
+    private DrawableCache() {
+    }
+
+    public static DrawableCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * وضع الأيقونة في ImageView بموارد ومظهر سياقه
+     */
+    public void setImage(ImageView view, int resId) {
+        view.setImageDrawable(get(view.getContext(), resId));
+    }
+
+    /**
+     * نسخة جديدة من الأيقونة تشارك حالتها مع النسخ الأخرى
+     */
+    public Drawable get(Context context, int resId) {
+        int nightMode = context.getResources().getConfiguration().uiMode & Configuration.UI_MODE_NIGHT_MASK;
+        long key = ((long) nightMode << 32) | (resId & 0xffffffffL);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.lastUsed = ++useCounter;
+            HITS.increment();
+            return entry.state.newDrawable(context.getResources());
+        }
+
+        MISSES.increment();
+        Drawable drawable = ContextCompat.getDrawable(context, resId);
+        Drawable.ConstantState state = drawable != null ? drawable.getConstantState() : null;
+        if (state == null) {
+            // بعض الأنواع لا تدعم المشاركة، تُعاد كما هي دون حفظ
+            return drawable;
+        }
+        if (entries.size() >= MAX_ENTRIES) {
+            evictLeastRecentlyUsed();
+        }
+        entries.put(key, new Entry(state, ++useCounter));
+        return state.newDrawable(context.getResources());
+    }
+
+    /**
+     * بعد تغيير المظهر: الأيقونات قد تُقرأ من موارد الوضع الآخر
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    public void onTrimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+            if (entries.size() > 0) {
+                AppLog.d(TAG, "إفراغ ذاكرة الأيقونات، مستوى {}", level);
+            }
+            clear();
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            while (entries.size() > MAX_ENTRIES / 2) {
+                evictLeastRecentlyUsed();
+            }
+        }
+    }
+
+    private void evictLeastRecentlyUsed() {
+        int oldest = 0;
+        for (int i = 1; i < entries.size(); i++) {
+            if (entries.valueAt(i).lastUsed < entries.valueAt(oldest).lastUsed) {
+                oldest = i;
+            }
+        }
+        entries.removeAt(oldest);
+    }
+
+    private static final class Entry {
+        final Drawable.ConstantState state;
+        long lastUsed;
+
+        Entry(Drawable.ConstantState state, long lastUsed) {
+            this.state = state;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
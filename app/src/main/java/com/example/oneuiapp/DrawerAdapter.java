@@ -2,6 +2,7 @@
 package com.example.oneuiapp;
 
 import android.content.Context;
+import android.text.TextUtils;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -9,6 +10,11 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.AdapterListUpdateCallback;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import java.util.ArrayList;
@@ -16,8 +22,34 @@ import java.util.List;
 
 public class DrawerAdapter extends RecyclerView.Adapter<DrawerAdapter.DrawerViewHolder> {
 
+    private static final Metrics.Histogram BIND_LATENCY = Metrics.histogram("bind.drawer");
+
+    static final int PAYLOAD_TITLE = 1;
+
+    private static final DiffUtil.ItemCallback<DrawerItem> DIFF_CALLBACK = new DiffUtil.ItemCallback<DrawerItem>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull DrawerItem oldItem, @NonNull DrawerItem newItem) {
+            return oldItem.getItemType() == newItem.getItemType();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull DrawerItem oldItem, @NonNull DrawerItem newItem) {
+            return oldItem.getIconResource() == newItem.getIconResource()
+                    && oldItem.getTitle().equals(newItem.getTitle());
+        }
+
+        @Nullable
+        @Override
+        public Object getChangePayload(@NonNull DrawerItem oldItem, @NonNull DrawerItem newItem) {
+            // The icon never changes for a given type, so a content change is a new title
+            return oldItem.getIconResource() == newItem.getIconResource() ? Integer.valueOf(PAYLOAD_TITLE) : null;
+        }
+    };
+
     private Context context;
-    private List<DrawerItem> drawerItems;
+    // Context used for strings; replaced on in-place language changes
+    private Context textContext;
+    private final AsyncListDiffer<DrawerItem> differ;
     private OnDrawerItemClickListener itemClickListener;
 
     public interface OnDrawerItemClickListener {
@@ -26,45 +58,58 @@ public class DrawerAdapter extends RecyclerView.Adapter<DrawerAdapter.DrawerView
 
     public DrawerAdapter(Context context) {
         this.context = context;
-        this.drawerItems = new ArrayList<>();
-        initializeDrawerItems();
+        this.textContext = context;
+        this.differ = new AsyncListDiffer<>(new AdapterListUpdateCallback(this),
+                new AsyncDifferConfig.Builder<>(DIFF_CALLBACK)
+                        .setBackgroundThreadExecutor(AppExecutors.background())
+                        .build());
+        setHasStableIds(true);
+        differ.submitList(createDrawerItems());
     }
 
-    private void initializeDrawerItems() {
-        drawerItems.clear();
-        
+    private List<DrawerItem> createDrawerItems() {
+        List<DrawerItem> drawerItems = new ArrayList<>(4);
+
         drawerItems.add(new DrawerItem(
             R.drawable.ic_oui_drawer,
-            context.getString(R.string.home),
+            textContext.getString(R.string.home),
             DrawerItem.ITEM_TYPE_HOME
         ));
         
         drawerItems.add(new DrawerItem(
             R.drawable.ic_oui_list,
-            context.getString(R.string.scroll_screen),
+            textContext.getString(R.string.scroll_screen),
             DrawerItem.ITEM_TYPE_SCROLL_LIST
         ));
         
         drawerItems.add(new DrawerItem(
             R.drawable.ic_oui_settings_outline,
-            context.getString(R.string.settings),
+            textContext.getString(R.string.settings),
             DrawerItem.ITEM_TYPE_SETTINGS
         ));
         
         drawerItems.add(new DrawerItem(
             R.drawable.ic_oui_notification_outline,
-            context.getString(R.string.notifications),
+            textContext.getString(R.string.notifications),
             DrawerItem.ITEM_TYPE_NOTIFICATIONS
         ));
+
+        // Built here once per language instead of on every bind
+        String iconDescription = textContext.getString(R.string.drawer_item_icon_description);
+        for (DrawerItem item : drawerItems) {
+            item.setContentDescription(iconDescription + ": " + item.getTitle());
+        }
+        return drawerItems;
     }
 
     public void setOnItemClickListener(OnDrawerItemClickListener listener) {
         this.itemClickListener = listener;
     }
 
-    public void updateLanguage() {
-        initializeDrawerItems();
-        notifyDataSetChanged();
+    public void updateLanguage(Context textContext) {
+        this.textContext = textContext;
+        // Same item types with new titles: the diff dispatches title payloads only
+        differ.submitList(createDrawerItems());
     }
 
     @NonNull
@@ -76,13 +121,30 @@ public class DrawerAdapter extends RecyclerView.Adapter<DrawerAdapter.DrawerView
 
     @Override
     public void onBindViewHolder(@NonNull DrawerViewHolder holder, int position) {
-        DrawerItem item = drawerItems.get(position);
+        long start = AppTrace.beginSection("DrawerAdapter.onBindViewHolder");
+        DrawerItem item = differ.getCurrentList().get(position);
         holder.bind(item, position);
+        AppTrace.endSection();
+        BIND_LATENCY.recordSince(start);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull DrawerViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        holder.bindTitle(differ.getCurrentList().get(position));
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return differ.getCurrentList().get(position).getItemType();
     }
 
     @Override
     public int getItemCount() {
-        return drawerItems.size();
+        return differ.getCurrentList().size();
     }
 
     public class DrawerViewHolder extends RecyclerView.ViewHolder {
@@ -90,6 +152,7 @@ public class DrawerAdapter extends RecyclerView.Adapter<DrawerAdapter.DrawerView
         private ImageView iconImageView;
         private TextView textView;
         private ImageView arrowImageView;
+        private int boundIconResource;
 
         public DrawerViewHolder(@NonNull View itemView) {
             super(itemView);
@@ -102,25 +165,32 @@ public class DrawerAdapter extends RecyclerView.Adapter<DrawerAdapter.DrawerView
                 public void onClick(View v) {
                     int position = getAdapterPosition();
                     if (position != RecyclerView.NO_POSITION && itemClickListener != null) {
-                        itemClickListener.onItemClick(drawerItems.get(position), position);
+                        itemClickListener.onItemClick(differ.getCurrentList().get(position), position);
                     }
                 }
             });
         }
 
         public void bind(DrawerItem item, int position) {
-            iconImageView.setImageResource(item.getIconResource());
-            textView.setText(item.getTitle());
-            
+            if (item.getIconResource() != boundIconResource) {
+                boundIconResource = item.getIconResource();
+                DrawableCache.getInstance().setImage(iconImageView, boundIconResource);
+            }
+
             if (item.hasArrow()) {
                 arrowImageView.setVisibility(View.VISIBLE);
             } else {
                 arrowImageView.setVisibility(View.GONE);
             }
 
-            itemView.setContentDescription(
-                context.getString(R.string.drawer_item_icon_description) + ": " + item.getTitle()
-            );
+            bindTitle(item);
+        }
+
+        void bindTitle(DrawerItem item) {
+            if (!TextUtils.equals(item.getTitle(), textView.getText())) {
+                textView.setText(item.getTitle());
+            }
+            itemView.setContentDescription(item.getContentDescription());
         }
     }
 
@@ -134,6 +204,7 @@ public class DrawerAdapter extends RecyclerView.Adapter<DrawerAdapter.DrawerView
         private String title;
         private int itemType;
         private boolean showArrow;
+        private String contentDescription;
 
         public DrawerItem(int iconResource, String title, int itemType) {
             this.iconResource = iconResource;
@@ -158,8 +229,16 @@ public class DrawerAdapter extends RecyclerView.Adapter<DrawerAdapter.DrawerView
             return showArrow;
         }
 
+        public String getContentDescription() {
+            return contentDescription;
+        }
+
         public void setTitle(String title) {
             this.title = title;
         }
+
+        public void setContentDescription(String contentDescription) {
+            this.contentDescription = contentDescription;
+        }
     }
 }
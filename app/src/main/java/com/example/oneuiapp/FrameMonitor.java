@@ -0,0 +1,114 @@
+package com.example.oneuiapp;
+
+import android.annotation.TargetApi;
+import android.app.Activity;
+import android.app.Application;
+import android.os.Build;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.view.FrameMetrics;
+import android.view.Window;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * مراقبة زمن رسم الإطارات لكل نافذة نشطة عبر FrameMetrics (API 24+)
+ * تُسجل على مستوى التطبيق فلا تحتاج الشاشات إلى أي كود إضافي.
+ */
+public class FrameMonitor implements Application.ActivityLifecycleCallbacks {
+
+    private static final long FROZEN_FRAME_NS = 700_000_000L;
+
+    static final Metrics.Histogram FRAME_DURATION = Metrics.histogram("frame.total_duration");
+    static final Metrics.Counter FRAME_COUNT = Metrics.counter("frame.count");
+    static final Metrics.Counter JANKY_FRAMES = Metrics.counter("frame.janky");
+    static final Metrics.Counter FROZEN_FRAMES = Metrics.counter("frame.frozen");
+
+    private final Map<Activity, Object> listeners = new WeakHashMap<>();
+    private Handler metricsHandler;
+
+    public static boolean isSupported() {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.N;
+    }
+
+    @Override
+    public void onActivityResumed(Activity activity) {
+        if (isSupported()) {
+            startMonitoring(activity);
+        }
+    }
+
+    @Override
+    public void onActivityPaused(Activity activity) {
+        if (isSupported()) {
+            stopMonitoring(activity);
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.N)
+    private void startMonitoring(Activity activity) {
+        if (listeners.containsKey(activity)) {
+            return;
+        }
+        if (metricsHandler == null) {
+            HandlerThread thread = new HandlerThread("frame-metrics");
+            thread.start();
+            metricsHandler = new Handler(thread.getLooper());
+        }
+
+        float refreshRate = activity.getWindowManager().getDefaultDisplay().getRefreshRate();
+        final long frameBudgetNs = (long) (1_000_000_000L / (refreshRate > 0 ? refreshRate : 60f));
+
+        Window.OnFrameMetricsAvailableListener listener = new Window.OnFrameMetricsAvailableListener() {
+            @Override
+            public void onFrameMetricsAvailable(Window window, FrameMetrics frameMetrics, int dropCount) {
+                long totalNs = frameMetrics.getMetric(FrameMetrics.TOTAL_DURATION);
+                FRAME_DURATION.record(totalNs);
+                FRAME_COUNT.increment();
+                if (totalNs > frameBudgetNs) {
+                    JANKY_FRAMES.increment();
+                }
+                if (totalNs > FROZEN_FRAME_NS) {
+                    FROZEN_FRAMES.increment();
+                }
+            }
+        };
+        activity.getWindow().addOnFrameMetricsAvailableListener(listener, metricsHandler);
+        listeners.put(activity, listener);
+    }
+
+    @TargetApi(Build.VERSION_CODES.N)
+    private void stopMonitoring(Activity activity) {
+        Object listener = listeners.remove(activity);
+        if (listener != null) {
+            try {
+                activity.getWindow().removeOnFrameMetricsAvailableListener(
+                        (Window.OnFrameMetricsAvailableListener) listener);
+            } catch (IllegalArgumentException e) {
+                // المستمع أزيل مسبقاً مع النافذة
+            }
+        }
+    }
+
+    @Override
+    public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+    }
+
+    @Override
+    public void onActivityStarted(Activity activity) {
+    }
+
+    @Override
+    public void onActivityStopped(Activity activity) {
+    }
+
+    @Override
+    public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+    }
+
+    @Override
+    public void onActivityDestroyed(Activity activity) {
+    }
+}
@@ -0,0 +1,295 @@
+package com.example.oneuiapp;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * قائمة صفوف قابلة للتعديل على شكل gap buffer مع فهرس للمواضع
+ *
+ * العناصر في مصفوفة واحدة فيها فجوة فارغة عند آخر موضع تعديل. الإضافة والحذف والنقل
+ * تحرك الفجوة إلى الموضع أولاً، فتُنسخ فقط العناصر بين الموضعين: التعديلات المتجاورة
+ * (السحب لإعادة الترتيب، حذف عدة صفوف متتالية) تكلّف O(1) في المتوسط بدل إزاحة القائمة كلها.
+ *
+ * لكل صف يُحفظ موقعه في المصفوفة حسب رقمه، ويُحدَّث فقط للعناصر التي تحركت مع الفجوة،
+ * فموضع أي صف يُحسب في O(1). فهرس النصوص يجعل contains و indexOf في O(1) أيضاً
+ * (O(k) للنص المكرر k مرة).
+ *
+ * غير آمنة للخيوط؛ تُعدَّل وتُقرأ من الخيط الرئيسي فقط. الخيوط الأخرى تأخذ snapshot().
+ */
+final class IndexedRowList extends AbstractList<MainAdapter.Row> implements RandomAccess {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private MainAdapter.Row[] buffer = new MainAdapter.Row[MIN_CAPACITY];
+    private int gapStart;
+    private int gapEnd = MIN_CAPACITY;
+    // موقع كل صف في buffer زائد 1 حسب رقمه؛ 0 للرقم غير الموجود. الأرقام متتالية من 1
+    private int[] slotById = new int[MIN_CAPACITY];
+    // نص -> الصف، أو ArrayList بالصفوف عند تكرار النص
+    private final Map<String, Object> rowsByText = new HashMap<>();
+    // آخر لقطة ثابتة، صالحة حتى أول تعديل
+    private PersistentVector<MainAdapter.Row> snapshot = PersistentVector.empty();
+
+    @Override
+    public int size() {
+        return buffer.length - (gapEnd - gapStart);
+    }
+
+    @Override
+    public MainAdapter.Row get(int index) {
+        checkIndex(index, size());
+        return buffer[slotOf(index)];
+    }
+
+    @Override
+    public boolean add(MainAdapter.Row row) {
+        add(size(), row);
+        return true;
+    }
+
+    @Override
+    public void add(int index, MainAdapter.Row row) {
+        checkIndex(index, size() + 1);
+        modified();
+        if (gapStart == gapEnd) {
+            grow(size() + 1);
+        }
+        moveGap(index);
+        buffer[gapStart] = row;
+        setSlot(row.id, gapStart);
+        gapStart++;
+        indexText(row);
+    }
+
+    @Override
+    public MainAdapter.Row remove(int index) {
+        checkIndex(index, size());
+        modified();
+        moveGap(index);
+        // بعد تحريك الفجوة يكون العنصر أول ما بعدها
+        MainAdapter.Row row = buffer[gapEnd];
+        buffer[gapEnd] = null;
+        gapEnd++;
+        setSlot(row.id, -1);
+        unindexText(row);
+        return row;
+    }
+
+    @Override
+    public MainAdapter.Row set(int index, MainAdapter.Row row) {
+        checkIndex(index, size());
+        modified();
+        int slot = slotOf(index);
+        MainAdapter.Row old = buffer[slot];
+        buffer[slot] = row;
+        if (old.id != row.id) {
+            setSlot(old.id, -1);
+            setSlot(row.id, slot);
+        }
+        if (!old.text.equals(row.text)) {
+            unindexText(old);
+            indexText(row);
+        }
+        return old;
+    }
+
+    /**
+     * نقل صف من موضع إلى آخر؛ الفجوة تبقى بينهما فالنقلات المتتالية أثناء السحب رخيصة
+     */
+    public void move(int from, int to) {
+        checkIndex(from, size());
+        checkIndex(to, size());
+        if (from == to) {
+            return;
+        }
+        modified();
+        moveGap(from);
+        MainAdapter.Row row = buffer[gapEnd];
+        buffer[gapEnd] = null;
+        gapEnd++;
+        moveGap(to);
+        buffer[gapStart] = row;
+        setSlot(row.id, gapStart);
+        gapStart++;
+    }
+
+    /**
+     * استبدال كل الصفوف دفعة واحدة، O(n)
+     */
+    public void setAll(List<MainAdapter.Row> rows) {
+        modified();
+        int capacity = Math.max(MIN_CAPACITY, rows.size() + rows.size() / 2);
+        buffer = new MainAdapter.Row[capacity];
+        rowsByText.clear();
+        Arrays.fill(slotById, 0);
+        for (int i = 0; i < rows.size(); i++) {
+            MainAdapter.Row row = rows.get(i);
+            buffer[i] = row;
+            setSlot(row.id, i);
+            indexText(row);
+        }
+        gapStart = rows.size();
+        gapEnd = capacity;
+    }
+
+    @Override
+    public void clear() {
+        setAll(PersistentVector.<MainAdapter.Row>empty());
+    }
+
+    /**
+     * @return موضع الصف صاحب الرقم، أو -1
+     */
+    public int positionOfId(long id) {
+        int slot = id >= 0 && id < slotById.length ? slotById[(int) id] - 1 : -1;
+        if (slot < 0) {
+            return -1;
+        }
+        return slot < gapStart ? slot : slot - (gapEnd - gapStart);
+    }
+
+    public boolean containsText(String text) {
+        return rowsByText.containsKey(text);
+    }
+
+    /**
+     * @return أول موضع للنص، أو -1
+     */
+    @SuppressWarnings("unchecked")
+    public int indexOfText(String text) {
+        Object entry = rowsByText.get(text);
+        if (entry == null) {
+            return -1;
+        }
+        if (entry instanceof MainAdapter.Row) {
+            return positionOfId(((MainAdapter.Row) entry).id);
+        }
+        int first = -1;
+        for (MainAdapter.Row row : (List<MainAdapter.Row>) entry) {
+            int position = positionOfId(row.id);
+            if (first < 0 || position < first) {
+                first = position;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * لقطة ثابتة من الصفوف الحالية لقراءتها من خيط آخر. تُبنى مرة واحدة بعد كل تعديل
+     */
+    public PersistentVector<MainAdapter.Row> snapshot() {
+        if (snapshot == null) {
+            List<MainAdapter.Row> rows = new ArrayList<>(size());
+            rows.addAll(Arrays.asList(buffer).subList(0, gapStart));
+            rows.addAll(Arrays.asList(buffer).subList(gapEnd, buffer.length));
+            snapshot = PersistentVector.copyOf(rows);
+        }
+        return snapshot;
+    }
+
+    private void modified() {
+        modCount++;
+        snapshot = null;
+    }
+
+    private int slotOf(int index) {
+        return index < gapStart ? index : index + (gapEnd - gapStart);
+    }
+
+    /**
+     * نقل الفجوة لتبدأ عند الموضع المعطى، مع تحديث مواقع العناصر التي تحركت فقط
+     */
+    private void moveGap(int index) {
+        int gapLength = gapEnd - gapStart;
+        if (index < gapStart) {
+            // العناصر [index, gapStart) تنتقل إلى ما بعد الفجوة
+            int count = gapStart - index;
+            System.arraycopy(buffer, index, buffer, gapEnd - count, count);
+            for (int slot = gapEnd - count; slot < gapEnd; slot++) {
+                setSlot(buffer[slot].id, slot);
+            }
+            Arrays.fill(buffer, index, Math.min(gapStart, gapEnd - count), null);
+        } else if (index > gapStart) {
+            // العناصر الأولى بعد الفجوة تنتقل إلى ما قبلها
+            int count = index - gapStart;
+            System.arraycopy(buffer, gapEnd, buffer, gapStart, count);
+            for (int slot = gapStart; slot < index; slot++) {
+                setSlot(buffer[slot].id, slot);
+            }
+            Arrays.fill(buffer, Math.max(index, gapEnd), gapEnd + count, null);
+        }
+        gapStart = index;
+        gapEnd = index + gapLength;
+    }
+
+    private void grow(int minSize) {
+        int capacity = Math.max(minSize, buffer.length * 2);
+        MainAdapter.Row[] grown = new MainAdapter.Row[capacity];
+        int tailLength = buffer.length - gapEnd;
+        System.arraycopy(buffer, 0, grown, 0, gapStart);
+        System.arraycopy(buffer, gapEnd, grown, capacity - tailLength, tailLength);
+        for (int slot = capacity - tailLength; slot < capacity; slot++) {
+            setSlot(grown[slot].id, slot);
+        }
+        buffer = grown;
+        gapEnd = capacity - tailLength;
+    }
+
+    private void setSlot(long id, int slot) {
+        int key = (int) id;
+        if (key >= slotById.length) {
+            if (slot < 0) {
+                return;
+            }
+            slotById = Arrays.copyOf(slotById, Math.max(key + 1, slotById.length * 2));
+        }
+        slotById[key] = slot + 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void indexText(MainAdapter.Row row) {
+        Object entry = rowsByText.get(row.text);
+        if (entry == null) {
+            rowsByText.put(row.text, row);
+        } else if (entry instanceof MainAdapter.Row) {
+            List<MainAdapter.Row> rows = new ArrayList<>(2);
+            rows.add((MainAdapter.Row) entry);
+            rows.add(row);
+            rowsByText.put(row.text, rows);
+        } else {
+            ((List<MainAdapter.Row>) entry).add(row);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void unindexText(MainAdapter.Row row) {
+        Object entry = rowsByText.get(row.text);
+        if (entry instanceof MainAdapter.Row) {
+            if (((MainAdapter.Row) entry).id == row.id) {
+                rowsByText.remove(row.text);
+            }
+        } else if (entry != null) {
+            List<MainAdapter.Row> rows = (List<MainAdapter.Row>) entry;
+            for (int i = 0; i < rows.size(); i++) {
+                if (rows.get(i).id == row.id) {
+                    rows.remove(i);
+                    break;
+                }
+            }
+            if (rows.size() == 1) {
+                rowsByText.put(row.text, rows.get(0));
+            }
+        }
+    }
+
+    private static void checkIndex(int index, int limit) {
+        if (index < 0 || index >= limit) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + limit);
+        }
+    }
+}
@@ -1,28 +1,49 @@
 package com.example.oneuiapp;
 
 import android.content.Context;
-import android.content.SharedPreferences;
 import android.content.res.Configuration;
-import android.content.res.Resources;
 import android.os.Build;
 
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 public class LanguageManager {
     
-    private static final String PREF_NAME = "language_preferences";
-    private static final String KEY_LANGUAGE = "selected_language";
-    private static final String KEY_LANGUAGE_CHANGED = "language_changed";
-    
     public static final String LANGUAGE_ENGLISH = "en";
     public static final String LANGUAGE_ARABIC = "ar";
     
+    private static volatile LanguageManager instance;
+    
     private Context context;
-    private SharedPreferences preferences;
+    private ConfigStore store;
     
-    public LanguageManager(Context context) {
+    // Override configurations and localized app contexts, one per language code.
+    // Identical override configurations also hit the framework's Resources cache,
+    // so opening a screen costs a map lookup instead of a resource-table rebuild.
+    private final Map<String, Configuration> overrideConfigurations = new HashMap<>();
+    private final Map<String, Context> localizedContexts = new HashMap<>();
+    
+    private LanguageManager(Context context) {
         this.context = context.getApplicationContext();
-        this.preferences = this.context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+        this.store = ConfigStore.getInstance(this.context);
+    }
+    
+    /**
+     * Application-scoped instance; reads are served from the in-memory ConfigStore
+     */
+    public static LanguageManager getInstance(Context context) {
+        LanguageManager manager = instance;
+        if (manager == null) {
+            synchronized (LanguageManager.class) {
+                manager = instance;
+                if (manager == null) {
+                    manager = new LanguageManager(context);
+                    instance = manager;
+                }
+            }
+        }
+        return manager;
     }
     
     public void setLanguage(String languageCode) {
@@ -32,58 +53,63 @@ public class LanguageManager {
         
         String currentLanguage = getCurrentLanguage();
         if (!currentLanguage.equals(languageCode)) {
-            preferences.edit()
-                    .putString(KEY_LANGUAGE, languageCode)
-                    .putBoolean(KEY_LANGUAGE_CHANGED, true)
-                    .apply();
-            
-            updateLocale(languageCode);
+            store.setLanguage(languageCode);
+            updateDefaultLocale(languageCode);
         }
     }
     
     public String getCurrentLanguage() {
-        return preferences.getString(KEY_LANGUAGE, getSystemDefaultLanguage());
+        String language = store.getLanguage();
+        return language != null ? language : getSystemDefaultLanguage();
     }
     
+    /**
+     * Keeps the default Locale (used for formatting) in sync with the saved language.
+     * Resources are localized per activity in attachBaseContext via wrapContext().
+     */
     public void applyLanguage() {
-        String savedLanguage = getCurrentLanguage();
-        updateLocale(savedLanguage);
-        markLanguageAsApplied();
+        updateDefaultLocale(getCurrentLanguage());
     }
     
-    private void updateLocale(String languageCode) {
-        Locale locale = new Locale(languageCode);
-        Locale.setDefault(locale);
-        
-        Resources resources = context.getResources();
-        Configuration configuration = resources.getConfiguration();
-        
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
-            configuration.setLocale(locale);
-        } else {
-            configuration.locale = locale;
-        }
-        
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
-            configuration.setLayoutDirection(locale);
+    private void updateDefaultLocale(String languageCode) {
+        if (!languageCode.equals(Locale.getDefault().getLanguage())) {
+            Locale.setDefault(new Locale(languageCode));
         }
-        
-        resources.updateConfiguration(configuration, resources.getDisplayMetrics());
     }
     
-    public boolean isRtlLanguage() {
-        String currentLanguage = getCurrentLanguage();
-        return LANGUAGE_ARABIC.equals(currentLanguage);
+    /**
+     * Wrap an activity's base context with the saved language.
+     * Call from attachBaseContext before super.
+     */
+    public Context wrapContext(Context baseContext) {
+        return createLanguageContext(baseContext, getCurrentLanguage());
     }
     
-    public boolean hasLanguageChanged() {
-        return preferences.getBoolean(KEY_LANGUAGE_CHANGED, false);
+    /**
+     * Application context localized to the saved language, for strings
+     * resolved outside an activity
+     */
+    public Context getLocalizedContext() {
+        return getLocalizedContext(getCurrentLanguage());
     }
     
-    private void markLanguageAsApplied() {
-        preferences.edit()
-                .putBoolean(KEY_LANGUAGE_CHANGED, false)
-                .apply();
+    /**
+     * Application context localized to the given language (cached)
+     */
+    public Context getLocalizedContext(String languageCode) {
+        synchronized (localizedContexts) {
+            Context localized = localizedContexts.get(languageCode);
+            if (localized == null) {
+                localized = createLanguageContext(context, languageCode);
+                localizedContexts.put(languageCode, localized);
+            }
+            return localized;
+        }
+    }
+    
+    public boolean isRtlLanguage() {
+        String currentLanguage = getCurrentLanguage();
+        return LANGUAGE_ARABIC.equals(currentLanguage);
     }
     
     private String getSystemDefaultLanguage() {
@@ -96,9 +122,9 @@ public class LanguageManager {
     
     public String getLanguageDisplayName(String languageCode) {
         if (LANGUAGE_ARABIC.equals(languageCode)) {
-            return context.getString(R.string.language_arabic);
+            return getLocalizedContext().getString(R.string.language_arabic);
         }
-        return context.getString(R.string.language_english);
+        return getLocalizedContext().getString(R.string.language_english);
     }
     
     public boolean isLanguageSupported(String languageCode) {
@@ -115,19 +141,35 @@ public class LanguageManager {
             return baseContext;
         }
         
-        Locale locale = new Locale(languageCode);
-        Configuration configuration = new Configuration(baseContext.getResources().getConfiguration());
-        
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
-            configuration.setLocale(locale);
-        } else {
-            configuration.locale = locale;
+        // Nothing to override when the base context already uses this language
+        if (languageCode.equals(getLocale(baseContext.getResources().getConfiguration()).getLanguage())) {
+            return baseContext;
         }
         
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
-            configuration.setLayoutDirection(locale);
+        return baseContext.createConfigurationContext(getOverrideConfiguration(languageCode));
+    }
+    
+    private Configuration getOverrideConfiguration(String languageCode) {
+        synchronized (overrideConfigurations) {
+            Configuration configuration = overrideConfigurations.get(languageCode);
+            if (configuration == null) {
+                // Only locale and layout direction are set; every other field stays
+                // undefined so it is inherited from the base context
+                Locale locale = new Locale(languageCode);
+                configuration = new Configuration();
+                configuration.setLocale(locale);
+                configuration.setLayoutDirection(locale);
+                overrideConfigurations.put(languageCode, configuration);
+            }
+            return configuration;
         }
-        
-        return baseContext.createConfigurationContext(configuration);
+    }
+    
+    @SuppressWarnings("deprecation")
+    private static Locale getLocale(Configuration configuration) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            return configuration.getLocales().get(0);
+        }
+        return configuration.locale;
     }
 }
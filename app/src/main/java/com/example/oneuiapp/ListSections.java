@@ -0,0 +1,116 @@
+package com.example.oneuiapp;
+
+import java.util.Arrays;
+
+/**
+ * Section layout of a list: where each section starts, its header text and its index bar label.
+ *
+ * Adapter positions include one header row before each section's data rows. Both directions
+ * of the mapping are precomputed once when the table is built: section to header position is
+ * a single array read, so jumping from the index bar costs the same for any list size; position
+ * to section is a binary search over the section starts, with no allocation on the bind path.
+ *
+ * Immutable; build a new table for each data snapshot.
+ */
+public final class ListSections {
+
+    private final int dataCount;
+    // First data position of each section, ascending, starting at 0
+    private final int[] dataStarts;
+    // Adapter position of each section's header row
+    private final int[] headerPositions;
+    private final String[] headers;
+    private final String[] indexLabels;
+
+    /**
+     * @param dataStarts first data position of each section; must start at 0 and be strictly ascending
+     */
+    public ListSections(int dataCount, int[] dataStarts, String[] headers, String[] indexLabels) {
+        if (dataStarts.length != headers.length || dataStarts.length != indexLabels.length) {
+            throw new IllegalArgumentException("Section arrays differ in length");
+        }
+        if (dataStarts.length > 0 && dataStarts[0] != 0) {
+            throw new IllegalArgumentException("First section must start at 0: " + dataStarts[0]);
+        }
+        this.dataCount = dataCount;
+        this.dataStarts = dataStarts.clone();
+        this.headers = headers.clone();
+        this.indexLabels = indexLabels.clone();
+        this.headerPositions = new int[dataStarts.length];
+        for (int section = 0; section < dataStarts.length; section++) {
+            if (section > 0 && dataStarts[section] <= dataStarts[section - 1]) {
+                throw new IllegalArgumentException("Section starts must be ascending at " + section);
+            }
+            headerPositions[section] = dataStarts[section] + section;
+        }
+    }
+
+    /**
+     * Sections of a fixed number of rows each; the last one may be shorter
+     */
+    public static int[] fixedSizeStarts(int dataCount, int sectionSize) {
+        int[] starts = new int[(dataCount + sectionSize - 1) / sectionSize];
+        for (int section = 0; section < starts.length; section++) {
+            starts[section] = section * sectionSize;
+        }
+        return starts;
+    }
+
+    public int getSectionCount() {
+        return dataStarts.length;
+    }
+
+    /**
+     * Data rows plus one header per section
+     */
+    public int getItemCount() {
+        return dataCount + dataStarts.length;
+    }
+
+    public String getHeader(int section) {
+        return headers[section];
+    }
+
+    public String[] getIndexLabels() {
+        return indexLabels.clone();
+    }
+
+    /**
+     * Adapter position of the section's header row. Constant time.
+     */
+    public int getPositionForSection(int section) {
+        return headerPositions[section];
+    }
+
+    /**
+     * Section the adapter position belongs to, header included
+     */
+    public int getSectionForPosition(int position) {
+        int found = Arrays.binarySearch(headerPositions, position);
+        return found >= 0 ? found : -found - 2;
+    }
+
+    public boolean isHeader(int position) {
+        return Arrays.binarySearch(headerPositions, position) >= 0;
+    }
+
+    /**
+     * Data position of a non-header adapter position
+     */
+    public int toDataPosition(int position) {
+        return position - getSectionForPosition(position) - 1;
+    }
+
+    public int toAdapterPosition(int dataPosition) {
+        int found = Arrays.binarySearch(dataStarts, dataPosition);
+        int section = found >= 0 ? found : -found - 2;
+        return dataPosition + section + 1;
+    }
+
+    /**
+     * Same sections at the same positions, so only header texts can differ
+     */
+    public boolean hasSameLayout(ListSections other) {
+        return other != null && dataCount == other.dataCount && Arrays.equals(dataStarts, other.dataStarts);
+    }
+}
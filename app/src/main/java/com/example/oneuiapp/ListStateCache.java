@@ -0,0 +1,131 @@
+package com.example.oneuiapp;
+
+import android.content.ComponentCallbacks2;
+import android.os.Parcelable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ذاكرة بيانات القوائم وموضع التمرير على مستوى التطبيق
+ *
+ * كل شاشة تحفظ آخر لقطة من بيانات قائمتها مع لغة بنائها، وحالة LayoutManager عند
+ * مغادرتها. عند إعادة إنشاء النشاط أو الرجوع إلى الشاشة تُعرض اللقطة مباشرة من نفس
+ * الموضع بدل بنائها من جديد؛ getData لا يعيد لقطة بلغة أخرى إلا لمن طلب لغتها صراحة
+ * عبر getDataLanguage ليترجمها بنفسه. البيانات المحفوظة يجب ألا
+ * تشير إلى نشاط (سياق التطبيق فقط).
+ *
+ * ضغط الذاكرة يحذف البيانات تدريجياً حسب مستوى onTrimMemory، ومواضع التمرير
+ * الصغيرة تبقى حتى يُطلب الحذف الكامل. تُستخدم من الخيط الرئيسي فقط.
+ */
+public final class ListStateCache {
+
+    private static final String TAG = "ListStateCache";
+
+    public static final String SCREEN_MAIN = "main";
+    public static final String SCREEN_SCROLL_LIST = "scroll_list";
+
+    private static final int MAX_SCREENS = 4;
+
+    private static final Metrics.Counter HITS = Metrics.counter("list_cache.hits");
+    private static final Metrics.Counter MISSES = Metrics.counter("list_cache.misses");
+
+    private static final ListStateCache INSTANCE = new ListStateCache();
+
+    // بترتيب الاستخدام: الأقدم أولاً
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry>(8, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_SCREENS;
+        }
+    };
+
+    private ListStateCache() {
+    }
+
+    public static ListStateCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * حفظ لقطة بيانات الشاشة المبنية باللغة المعطاة
+     */
+    public void putData(String screen, String language, Object data) {
+        Entry entry = obtain(screen);
+        entry.language = language;
+        entry.data = data;
+    }
+
+    /**
+     * @return لقطة الشاشة إن بُنيت بنفس اللغة، وإلا null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getData(String screen, String language) {
+        Entry entry = entries.get(screen);
+        if (entry == null || entry.data == null || !language.equals(entry.language)) {
+            MISSES.increment();
+            return null;
+        }
+        HITS.increment();
+        return (T) entry.data;
+    }
+
+    /**
+     * @return لغة لقطة الشاشة المحفوظة، أو null إن لم تُحفظ لقطة
+     */
+    public String getDataLanguage(String screen) {
+        Entry entry = entries.get(screen);
+        return entry != null && entry.data != null ? entry.language : null;
+    }
+
+    public void putScrollState(String screen, Parcelable state) {
+        obtain(screen).scrollState = state;
+    }
+
+    public Parcelable getScrollState(String screen) {
+        Entry entry = entries.get(screen);
+        return entry != null ? entry.scrollState : null;
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public void onTrimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE) {
+            // العملية مرشحة للإنهاء قريباً
+            AppLog.d(TAG, "حذف كل القوائم المحفوظة، مستوى {}", level);
+            clear();
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND) {
+            // لا شاشة ظاهرة: تُحذف البيانات وتبقى المواضع
+            dropData(0);
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            // التطبيق ظاهر: تبقى بيانات آخر شاشة مستخدمة فقط
+            dropData(1);
+        }
+    }
+
+    private void dropData(int keepMostRecent) {
+        int remaining = entries.size();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext() && remaining-- > keepMostRecent) {
+            iterator.next().data = null;
+        }
+    }
+
+    private Entry obtain(String screen) {
+        Entry entry = entries.get(screen);
+        if (entry == null) {
+            entry = new Entry();
+            entries.put(screen, entry);
+        }
+        return entry;
+    }
+
+    private static final class Entry {
+        String language;
+        Object data;
+        Parcelable scrollState;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.oneuiapp;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.os.Looper;
+import android.os.MessageQueue;
+
+/**
+ * تحضير موارد اللغة غير النشطة مسبقاً
+ * عند أول خمول للخيط الرئيسي يُنشأ على خيط خلفي سياق اللغة الأخرى وتُقرأ نصوص
+ * الشاشات الرئيسية منه، فلا يدفع أول إطار بعد تبديل اللغة ثمن تحميل الموارد من الصفر.
+ * يُعاد التحضير بعد كل تغيير في الإعدادات لأن "اللغة الأخرى" تتغير.
+ */
+public final class LocalePrewarmer {
+
+    private static final String TAG = "LocalePrewarmer";
+
+    // النصوص المستخدمة في القائمة الجانبية والشاشة الرئيسية وشاشة القائمة والإعدادات
+    private static final int[] SCREEN_STRINGS = {
+            R.string.app_name,
+            R.string.home,
+            R.string.scroll_screen,
+            R.string.settings,
+            R.string.notifications,
+            R.string.drawer_item_icon_description,
+            R.string.drawer_item_arrow_description,
+            R.string.main_item,
+            R.string.main_item_description,
+            R.string.main_item_icon_description,
+            R.string.main_item_chevron_description,
+            R.string.already_on_home,
+            R.string.unknown_option,
+            R.string.toolbar_collapsed,
+            R.string.toolbar_expanded,
+            R.string.category_appearance,
+            R.string.category_general,
+            R.string.category_diagnostics,
+            R.string.language,
+            R.string.language_summary,
+            R.string.language_english,
+            R.string.language_arabic,
+            R.string.theme,
+            R.string.theme_summary,
+            R.string.theme_light,
+            R.string.theme_dark,
+            R.string.theme_system,
+            R.string.notifications_summary,
+            R.string.notifications_feature_coming_soon,
+            R.string.performance_diagnostics,
+            R.string.performance_diagnostics_summary
+    };
+
+    // نصوص بمعاملات، تُنسق مرة واحدة حتى يُحمّل قالبها أيضاً
+    private static final int[] FORMATTED_INT_STRINGS = {
+            R.string.scroll_item_title,
+            R.string.scroll_item_description
+    };
+
+    private static boolean installed;
+    private static boolean pending;
+    private static boolean listening;
+
+    private LocalePrewarmer() {
+    }
+
+    /**
+     * يُستدعى من Application.onCreate على الخيط الرئيسي
+     */
+    public static void install(final Context context) {
+        if (installed) {
+            return;
+        }
+        installed = true;
+        scheduleOnIdle(context.getApplicationContext());
+    }
+
+    private static void scheduleOnIdle(final Context appContext) {
+        if (pending) {
+            return;
+        }
+        pending = true;
+        Looper.myQueue().addIdleHandler(new MessageQueue.IdleHandler() {
+            @Override
+            public boolean queueIdle() {
+                pending = false;
+                if (!listening) {
+                    // بحلول أول خمول تكون الإعدادات قد حُمّلت، فلا انتظار هنا
+                    listening = true;
+                    ConfigStore.getInstance(appContext).addListener(new ConfigStore.OnConfigChangedListener() {
+                        @Override
+                        public void onConfigChanged(long version) {
+                            scheduleOnIdle(appContext);
+                        }
+                    });
+                }
+                AppExecutors.background().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        prewarm(appContext);
+                    }
+                });
+                // مرة واحدة فقط
+                return false;
+            }
+        });
+    }
+
+    private static void prewarm(Context appContext) {
+        LanguageManager languageManager = LanguageManager.getInstance(appContext);
+        String current = languageManager.getCurrentLanguage();
+        String[] candidates = {LanguageManager.LANGUAGE_ENGLISH, LanguageManager.LANGUAGE_ARABIC};
+
+        for (String language : candidates) {
+            if (language.equals(current) || !languageManager.isLanguageSupported(language)) {
+                continue;
+            }
+            long start = AppTrace.beginSection("LocalePrewarmer.prewarm");
+            try {
+                Context localized = languageManager.getLocalizedContext(language);
+                Resources resources = localized.getResources();
+                for (int stringRes : SCREEN_STRINGS) {
+                    resources.getString(stringRes);
+                }
+                for (int stringRes : FORMATTED_INT_STRINGS) {
+                    resources.getString(stringRes, 1);
+                }
+                AppLog.d(TAG, "تم تحضير نصوص اللغة {}", language);
+            } catch (Exception e) {
+                AppLog.w(TAG, "فشل تحضير اللغة " + language, e);
+            } finally {
+                AppTrace.endSection("LocalePrewarmer.prewarm", start);
+            }
+        }
+    }
+}
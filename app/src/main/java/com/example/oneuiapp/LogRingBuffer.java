@@ -0,0 +1,92 @@
+package com.example.oneuiapp;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * مخزن دائري في الذاكرة لآخر أحداث السجل
+ * يستخدم مصفوفات ثابتة الحجم فلا يُنشئ كائنات جديدة عند الكتابة
+ */
+public class LogRingBuffer implements AppLog.Sink {
+
+    private final long[] timestamps;
+    private final int[] levels;
+    private final String[] tags;
+    private final int[] eventIds;
+    private final String[] messages;
+    private final long[] firstFields;
+    private final long[] secondFields;
+    private final Throwable[] throwables;
+
+    private int next = 0;
+    private int size = 0;
+
+    public LogRingBuffer(int capacity) {
+        timestamps = new long[capacity];
+        levels = new int[capacity];
+        tags = new String[capacity];
+        eventIds = new int[capacity];
+        messages = new String[capacity];
+        firstFields = new long[capacity];
+        secondFields = new long[capacity];
+        throwables = new Throwable[capacity];
+    }
+
+    @Override
+    public synchronized void write(int level, String tag, int eventId, String message,
+                                   long field1, long field2, Throwable throwable) {
+        int slot = next;
+        timestamps[slot] = System.currentTimeMillis();
+        levels[slot] = level;
+        tags[slot] = tag;
+        eventIds[slot] = eventId;
+        messages[slot] = message;
+        firstFields[slot] = field1;
+        secondFields[slot] = field2;
+        throwables[slot] = throwable;
+
+        next = (slot + 1) % timestamps.length;
+        if (size < timestamps.length) {
+            size++;
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < timestamps.length; i++) {
+            tags[i] = null;
+            messages[i] = null;
+            throwables[i] = null;
+        }
+        next = 0;
+        size = 0;
+    }
+
+    /**
+     * كتابة محتوى المخزن من الأقدم إلى الأحدث
+     */
+    public synchronized void dump(StringBuilder out) {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("HH:mm:ss.SSS", Locale.US);
+        int start = (next - size + timestamps.length) % timestamps.length;
+        for (int i = 0; i < size; i++) {
+            int slot = (start + i) % timestamps.length;
+            out.append(dateFormat.format(new Date(timestamps[slot])))
+                    .append(' ').append(AppLog.levelName(levels[slot]))
+                    .append('/').append(tags[slot]).append(": ")
+                    .append(messages[slot]);
+            if (eventIds[slot] != AppLog.NO_EVENT) {
+                out.append(" [#").append(eventIds[slot])
+                        .append(' ').append(firstFields[slot])
+                        .append(' ').append(secondFields[slot]).append(']');
+            }
+            if (throwables[slot] != null) {
+                out.append(" (").append(throwables[slot].getClass().getSimpleName()).append(')');
+            }
+            out.append('\n');
+        }
+    }
+}
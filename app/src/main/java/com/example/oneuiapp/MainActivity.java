@@ -1,8 +1,12 @@
 package com.example.oneuiapp;
 
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.widget.SearchView;
 import androidx.coordinatorlayout.widget.CoordinatorLayout;
+import androidx.core.content.ContextCompat;
 import androidx.drawerlayout.widget.DrawerLayout;
+import androidx.recyclerview.widget.ItemTouchHelper;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
@@ -10,54 +14,93 @@ import com.google.android.material.appbar.AppBarLayout;
 import com.google.android.material.appbar.CollapsingToolbarLayout;
 import com.google.android.material.appbar.MaterialToolbar;
 
+import android.content.Context;
 import android.content.Intent;
+import android.content.res.Configuration;
 import android.os.Bundle;
+import android.os.Parcelable;
+import android.view.Menu;
 import android.view.MenuItem;
 import android.view.View;
 import android.widget.LinearLayout;
+import android.widget.TextView;
 import android.widget.Toast;
-import android.util.Log;
+
+import java.util.List;
 
 public class MainActivity extends AppCompatActivity implements DrawerAdapter.OnDrawerItemClickListener {
 
     private static final String TAG = "MainActivity";
+    private static final int EVENT_MAIN_LIST_READY = 1001;
+    private static final Metrics.Counter ACTIVITY_RECREATIONS = Metrics.counter("activity.recreations");
     private DrawerLayout drawerLayout;
     private LinearLayout drawerContainer;
+    private TextView drawerTitle;
     private RecyclerView drawerRecyclerView;
     private CollapsingToolbarLayout collapsingToolbar;
     private MaterialToolbar toolbar;
     private RecyclerView mainRecyclerView;
     private DrawerAdapter drawerAdapter;
     private MainAdapter mainAdapter;
+    private MenuItem searchMenuItem;
+    private SearchView searchView;
     private ThemeManager themeManager;
     private LanguageManager languageManager;
+    private long renderedConfigVersion;
+    private ConfigRebinder configRebinder;
+    private SelectionActionMode selectionActionMode;
+    private final ScreenTelemetry telemetry = new ScreenTelemetry(TAG);
+
+    @Override
+    protected void attachBaseContext(Context newBase) {
+        // Localize resources for this activity only; cached per language
+        super.attachBaseContext(LanguageManager.getInstance(newBase).wrapContext(newBase));
+    }
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
+        long createStart = AppTrace.beginSection("MainActivity.onCreate");
+        long phaseStart;
+        telemetry.onEnter();
         try {
+            // Remember which settings version this screen is rendered with
+            renderedConfigVersion = ConfigStore.getInstance(this).getVersion();
+            
             // Initialize managers before calling super.onCreate()
-            languageManager = new LanguageManager(this);
-            themeManager = new ThemeManager(this);
+            languageManager = LanguageManager.getInstance(this);
+            themeManager = ThemeManager.getInstance(this);
             
             // Apply language and theme settings
+            phaseStart = AppTrace.beginSection("MainActivity.applyLanguage");
             languageManager.applyLanguage();
+            AppTrace.endSection("MainActivity.applyLanguage", phaseStart);
+            phaseStart = AppTrace.beginSection("MainActivity.applyTheme");
             themeManager.applyTheme();
+            AppTrace.endSection("MainActivity.applyTheme", phaseStart);
             
             super.onCreate(savedInstanceState);
+            phaseStart = AppTrace.beginSection("MainActivity.setContentView");
             setContentView(R.layout.activity_main);
+            AppTrace.endSection("MainActivity.setContentView", phaseStart);
             
             initViews();
             setupToolbar();
+            phaseStart = AppTrace.beginSection("MainActivity.setupDrawer");
             setupDrawer();
+            AppTrace.endSection("MainActivity.setupDrawer", phaseStart);
+            phaseStart = AppTrace.beginSection("MainActivity.setupRecyclerView");
             setupRecyclerView();
+            AppTrace.endSection("MainActivity.setupRecyclerView", phaseStart);
             setupCollapsingToolbar();
+            setupConfigRebinder();
             
-            Log.d(TAG, "MainActivity تم إنشاؤها بنجاح");
+            AppLog.d(TAG, "MainActivity تم إنشاؤها بنجاح");
             
         } catch (Exception e) {
-            Log.e(TAG, "خطأ في onCreate", e);
-            CrashLogger.logError(TAG, "خطأ في إنشاء MainActivity", e);
+            AppLog.e(TAG, "خطأ في إنشاء MainActivity", e);
             throw e; // إعادة إرسال الخطأ لتسجيله في نظام الأخطاء العام
+        } finally {
+            AppTrace.endSection("MainActivity.onCreate", createStart);
         }
     }
 
@@ -65,16 +108,16 @@ public class MainActivity extends AppCompatActivity implements DrawerAdapter.OnD
         try {
             drawerLayout = findViewById(R.id.drawer_layout);
             drawerContainer = findViewById(R.id.drawer_container);
+            drawerTitle = findViewById(R.id.drawer_title);
             drawerRecyclerView = findViewById(R.id.drawer_recycler_view);
             collapsingToolbar = findViewById(R.id.collapsing_toolbar);
             toolbar = findViewById(R.id.toolbar);
             mainRecyclerView = findViewById(R.id.main_recycler_view);
             
-            Log.d(TAG, "Views تم تهيئتها بنجاح");
+            AppLog.d(TAG, "Views تم تهيئتها بنجاح");
             
         } catch (Exception e) {
-            Log.e(TAG, "خطأ في تهيئة Views", e);
-            CrashLogger.logError(TAG, "خطأ في تهيئة Views", e);
+            AppLog.e(TAG, "خطأ في تهيئة Views", e);
             throw e;
         }
     }
@@ -95,17 +138,15 @@ public class MainActivity extends AppCompatActivity implements DrawerAdapter.OnD
                     try {
                         toggleDrawer();
                     } catch (Exception e) {
-                        Log.e(TAG, "خطأ في toggleDrawer", e);
-                        CrashLogger.logError(TAG, "خطأ في تبديل Drawer", e);
+                        AppLog.e(TAG, "خطأ في تبديل Drawer", e);
                     }
                 }
             });
             
-            Log.d(TAG, "Toolbar تم إعداده بنجاح");
+            AppLog.d(TAG, "Toolbar تم إعداده بنجاح");
             
         } catch (Exception e) {
-            Log.e(TAG, "خطأ في إعداد Toolbar", e);
-            CrashLogger.logError(TAG, "خطأ في إعداد Toolbar", e);
+            AppLog.e(TAG, "خطأ في إعداد Toolbar", e);
             throw e;
         }
     }
@@ -125,11 +166,10 @@ public class MainActivity extends AppCompatActivity implements DrawerAdapter.OnD
             drawerAdapter.setOnItemClickListener(this);
             drawerRecyclerView.setAdapter(drawerAdapter);
             
-            Log.d(TAG, "Drawer تم إعداده بنجاح");
+            AppLog.d(TAG, "Drawer تم إعداده بنجاح");
             
         } catch (Exception e) {
-            Log.e(TAG, "خطأ في إعداد Drawer", e);
-            CrashLogger.logError(TAG, "خطأ في إعداد Drawer", e);
+            AppLog.e(TAG, "خطأ في إعداد Drawer", e);
             throw e;
         }
     }
@@ -166,36 +206,70 @@ public class MainActivity extends AppCompatActivity implements DrawerAdapter.OnD
                                 updateToolbarState(isCollapsed);
                             }
                         } catch (Exception e) {
-                            Log.e(TAG, "خطأ في onOffsetChanged", e);
-                            CrashLogger.logError(TAG, "خطأ في تغيير حالة AppBar", e);
+                            AppLog.e(TAG, "خطأ في تغيير حالة AppBar", e);
                         }
                     }
                 });
             }
             
-            Log.d(TAG, "CollapsingToolbar تم إعداده بنجاح");
+            AppLog.d(TAG, "CollapsingToolbar تم إعداده بنجاح");
             
         } catch (Exception e) {
-            Log.e(TAG, "خطأ في إعداد CollapsingToolbar", e);
-            CrashLogger.logError(TAG, "خطأ في إعداد CollapsingToolbar", e);
+            AppLog.e(TAG, "خطأ في إعداد CollapsingToolbar", e);
             throw e;
         }
     }
 
+    private void setupConfigRebinder() {
+        // Theme and language changes are re-applied in place; recreate() only on LTR/RTL flips
+        configRebinder = new ConfigRebinder(this);
+        configRebinder.bindText(drawerTitle, R.string.app_name);
+        configRebinder.bindBackgroundColor(drawerTitle, R.color.colorPrimary);
+        configRebinder.bindTextColor(drawerTitle, R.color.colorOnPrimary);
+        configRebinder.bindBackgroundColor(drawerContainer, R.color.colorSurface);
+        configRebinder.addListener(new ConfigRebinder.Listener() {
+            @Override
+            public void onRebind(Context context, int changes) {
+                try {
+                    if ((changes & ConfigRebinder.CHANGE_LANGUAGE) != 0) {
+                        collapsingToolbar.setTitle(context.getString(R.string.app_name));
+                        drawerAdapter.updateLanguage(context);
+                        // Re-localizes the generated rows and keeps the user's edits
+                        mainAdapter.updateLanguage(context);
+                        cacheMainItems();
+                        if (searchMenuItem != null) {
+                            searchMenuItem.setTitle(context.getString(R.string.search));
+                            searchView.setQueryHint(context.getString(R.string.search_hint));
+                        }
+                    }
+                    if ((changes & ConfigRebinder.CHANGE_THEME) != 0) {
+                        int primary = ContextCompat.getColor(context, R.color.colorPrimary);
+                        collapsingToolbar.setContentScrimColor(primary);
+                        collapsingToolbar.setStatusBarScrimColor(primary);
+                        mainAdapter.invalidateTextLayouts();
+                        ConfigRebinder.reinflateRows(mainRecyclerView);
+                        ConfigRebinder.reinflateRows(drawerRecyclerView);
+                    }
+                } catch (Exception e) {
+                    AppLog.e(TAG, "خطأ في إعادة تطبيق الإعدادات", e);
+                }
+            }
+        });
+    }
+
     private void updateToolbarState(boolean isCollapsed) {
         try {
             // Optional: Add custom behavior when toolbar collapses/expands
             // The title animation is handled automatically by SESL CollapsingToolbarLayout
             if (isCollapsed) {
                 // Toolbar is collapsed - title is small and positioned at top
-                Log.d(TAG, "Toolbar مطوي");
+                AppLog.d(TAG, "Toolbar مطوي");
             } else {
                 // Toolbar is expanded - title is large and centered
-                Log.d(TAG, "Toolbar موسع");
+                AppLog.d(TAG, "Toolbar موسع");
             }
         } catch (Exception e) {
-            Log.e(TAG, "خطأ في updateToolbarState", e);
-            CrashLogger.logError(TAG, "خطأ في تحديث حالة Toolbar", e);
+            AppLog.e(TAG, "خطأ في تحديث حالة Toolbar", e);
         }
     }
 
@@ -204,6 +278,11 @@ public class MainActivity extends AppCompatActivity implements DrawerAdapter.OnD
             LinearLayoutManager layoutManager = new LinearLayoutManager(this);
             mainRecyclerView.setLayoutManager(layoutManager);
             mainRecyclerView.setHasFixedSize(true);
+            // Rows are shared with the scroll list screen and survive recreation
+            RowViewPool rowViewPool = RowViewPool.getInstance(this);
+            mainRecyclerView.setRecycledViewPool(rowViewPool.getPool());
+            // Inflate the scroll list's first screen of rows once startup goes idle
+            rowViewPool.preinflateOnIdle(this);
             
             // Initialize main adapter
             mainAdapter = new MainAdapter(this);
@@ -213,21 +292,41 @@ public class MainActivity extends AppCompatActivity implements DrawerAdapter.OnD
                     try {
                         showItemClickedMessage(item, position);
                     } catch (Exception e) {
-                        Log.e(TAG, "خطأ في onItemClick", e);
-                        CrashLogger.logError(TAG, "خطأ في النقر على العنصر", e);
+                        AppLog.e(TAG, "خطأ في النقر على العنصر", e);
                     }
                 }
             });
+            setupSelection();
             
-            // Generate sample data for main screen
-            mainAdapter.generateSampleData(20);
+            // Items and scroll position from the previous instance, or fresh sample data
+            ListStateCache cache = ListStateCache.getInstance();
+            String language = languageManager.getCurrentLanguage();
+            String cachedLanguage = cache.getDataLanguage(ListStateCache.SCREEN_MAIN);
+            List<String> cachedItems = cachedLanguage != null
+                    ? cache.<List<String>>getData(ListStateCache.SCREEN_MAIN, cachedLanguage) : null;
+            if (cachedItems != null && cachedLanguage.equals(language)) {
+                mainAdapter.setItems(cachedItems);
+            } else if (cachedItems != null) {
+                // Recreated for a language change: keep the user's edits, translate the generated rows
+                mainAdapter.setItems(cachedItems, languageManager.getLocalizedContext(cachedLanguage));
+                cacheMainItems();
+            } else {
+                // Generate sample data for main screen
+                mainAdapter.generateSampleData(20);
+                cacheMainItems();
+            }
             mainRecyclerView.setAdapter(mainAdapter);
+            setupItemTouchHelper();
+            Parcelable scrollState = cache.getScrollState(ListStateCache.SCREEN_MAIN);
+            if (scrollState != null) {
+                layoutManager.onRestoreInstanceState(scrollState);
+            }
             
-            Log.d(TAG, "RecyclerView تم إعداده بنجاح");
+            AppLog.event(AppLog.DEBUG, TAG, EVENT_MAIN_LIST_READY,
+                    "RecyclerView تم إعداده بنجاح", mainAdapter.getItemCount(), 0);
             
         } catch (Exception e) {
-            Log.e(TAG, "خطأ في إعداد RecyclerView", e);
-            CrashLogger.logError(TAG, "خطأ في إعداد RecyclerView", e);
+            AppLog.e(TAG, "خطأ في إعداد RecyclerView", e);
             throw e;
         }
     }
@@ -237,8 +336,7 @@ public class MainActivity extends AppCompatActivity implements DrawerAdapter.OnD
             String message = getString(R.string.item_clicked_message, item, position + 1);
             Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
         } catch (Exception e) {
-            Log.e(TAG, "خطأ في عرض رسالة النقر", e);
-            CrashLogger.logError(TAG, "خطأ في عرض رسالة النقر على العنصر", e);
+            AppLog.e(TAG, "خطأ في عرض رسالة النقر على العنصر", e);
         }
     }
 
@@ -250,8 +348,7 @@ public class MainActivity extends AppCompatActivity implements DrawerAdapter.OnD
                 drawerLayout.openDrawer(drawerContainer);
             }
         } catch (Exception e) {
-            Log.e(TAG, "خطأ في تبديل Drawer", e);
-            CrashLogger.logError(TAG, "خطأ في فتح/إغلاق Drawer", e);
+            AppLog.e(TAG, "خطأ في فتح/إغلاق Drawer", e);
         }
     }
 
@@ -261,8 +358,7 @@ public class MainActivity extends AppCompatActivity implements DrawerAdapter.OnD
             handleDrawerItemClick(item);
             drawerLayout.closeDrawer(drawerContainer);
         } catch (Exception e) {
-            Log.e(TAG, "خطأ في النقر على عنصر Drawer", e);
-            CrashLogger.logError(TAG, "خطأ في معالجة النقر على عنصر Drawer", e);
+            AppLog.e(TAG, "خطأ في معالجة النقر على عنصر Drawer", e);
         }
     }
 
@@ -291,8 +387,7 @@ public class MainActivity extends AppCompatActivity implements DrawerAdapter.OnD
                     break;
             }
         } catch (Exception e) {
-            Log.e(TAG, "خطأ في معالجة النقر على عنصر Drawer", e);
-            CrashLogger.logError(TAG, "خطأ في تنفيذ إجراء عنصر Drawer", e);
+            AppLog.e(TAG, "خطأ في تنفيذ إجراء عنصر Drawer", e);
             Toast.makeText(this, "حدث خطأ أثناء تنفيذ العملية", Toast.LENGTH_SHORT).show();
         }
     }
@@ -301,8 +396,7 @@ public class MainActivity extends AppCompatActivity implements DrawerAdapter.OnD
         try {
             Toast.makeText(this, R.string.notifications_feature_coming_soon, Toast.LENGTH_LONG).show();
         } catch (Exception e) {
-            Log.e(TAG, "خطأ في عرض رسالة الإشعارات", e);
-            CrashLogger.logError(TAG, "خطأ في عرض رسالة الإشعارات", e);
+            AppLog.e(TAG, "خطأ في عرض رسالة الإشعارات", e);
         }
     }
 
@@ -315,8 +409,7 @@ public class MainActivity extends AppCompatActivity implements DrawerAdapter.OnD
                 super.onBackPressed();
             }
         } catch (Exception e) {
-            Log.e(TAG, "خطأ في onBackPressed", e);
-            CrashLogger.logError(TAG, "خطأ في التعامل مع زر الرجوع", e);
+            AppLog.e(TAG, "خطأ في التعامل مع زر الرجوع", e);
             super.onBackPressed(); // تنفيذ الإجراء الافتراضي
         }
     }
@@ -325,42 +418,73 @@ public class MainActivity extends AppCompatActivity implements DrawerAdapter.OnD
     protected void onResume() {
         try {
             super.onResume();
-            
-            // Update drawer content when returning to activity
-            updateDrawerContent();
+            telemetry.startSampling();
             
             // Handle theme or language changes
             handleConfigurationChanges();
             
-            Log.d(TAG, "MainActivity تم استئنافها بنجاح");
+            AppLog.d(TAG, "MainActivity تم استئنافها بنجاح");
             
         } catch (Exception e) {
-            Log.e(TAG, "خطأ في onResume", e);
-            CrashLogger.logError(TAG, "خطأ في استئناف MainActivity", e);
+            AppLog.e(TAG, "خطأ في استئناف MainActivity", e);
         }
     }
 
-    private void updateDrawerContent() {
+    private void handleConfigurationChanges() {
         try {
-            if (drawerAdapter != null) {
-                drawerAdapter.updateLanguage();
+            ConfigStore store = ConfigStore.getInstance(this);
+            if (store.isStale(renderedConfigVersion)) {
+                if (configRebinder.rebindLanguage()) {
+                    // Applied in place; theme colours arrive through onConfigurationChanged
+                    renderedConfigVersion = store.getVersion();
+                } else {
+                    // Layout direction flipped, recreate activity to apply changes
+                    ACTIVITY_RECREATIONS.increment();
+                    recreate();
+                }
             }
         } catch (Exception e) {
-            Log.e(TAG, "خطأ في تحديث محتوى Drawer", e);
-            CrashLogger.logError(TAG, "خطأ في تحديث محتوى Drawer", e);
+            AppLog.e(TAG, "خطأ في معالجة تغييرات الإعدادات", e);
         }
     }
 
-    private void handleConfigurationChanges() {
+    @Override
+    public boolean onCreateOptionsMenu(Menu menu) {
         try {
-            if (themeManager.hasThemeChanged() || languageManager.hasLanguageChanged()) {
-                // Recreate activity to apply changes
-                recreate();
-            }
+            getMenuInflater().inflate(R.menu.menu_main, menu);
+            searchMenuItem = menu.findItem(R.id.action_search);
+            searchView = (SearchView) searchMenuItem.getActionView();
+            searchView.setQueryHint(getString(R.string.search_hint));
+            searchView.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
+                @Override
+                public boolean onQueryTextSubmit(String query) {
+                    searchView.clearFocus();
+                    return true;
+                }
+
+                @Override
+                public boolean onQueryTextChange(String newText) {
+                    // Debounced and run off the main thread by the adapter
+                    mainAdapter.filterItems(newText);
+                    return true;
+                }
+            });
+            searchMenuItem.setOnActionExpandListener(new MenuItem.OnActionExpandListener() {
+                @Override
+                public boolean onMenuItemActionExpand(MenuItem item) {
+                    return true;
+                }
+
+                @Override
+                public boolean onMenuItemActionCollapse(MenuItem item) {
+                    mainAdapter.filterItems(null);
+                    return true;
+                }
+            });
         } catch (Exception e) {
-            Log.e(TAG, "خطأ في معالجة تغييرات الإعدادات", e);
-            CrashLogger.logError(TAG, "خطأ في معالجة تغييرات الإعدادات", e);
+            AppLog.e(TAG, "خطأ في إعداد قائمة البحث", e);
         }
+        return true;
     }
 
     @Override
@@ -372,14 +496,134 @@ public class MainActivity extends AppCompatActivity implements DrawerAdapter.OnD
             }
             return super.onOptionsItemSelected(item);
         } catch (Exception e) {
-            Log.e(TAG, "خطأ في onOptionsItemSelected", e);
-            CrashLogger.logError(TAG, "خطأ في معالجة اختيار العنصر", e);
+            AppLog.e(TAG, "خطأ في معالجة اختيار العنصر", e);
             return super.onOptionsItemSelected(item);
         }
     }
 
+    @Override
+    public void onConfigurationChanged(Configuration newConfig) {
+        super.onConfigurationChanged(newConfig);
+        if (configRebinder != null) {
+            configRebinder.onConfigurationChanged(newConfig);
+        }
+    }
+
+    /**
+     * Drag the handle to reorder, swipe sideways to delete. Both are applied to the
+     * adapter's rows in place and notified directly, so neither waits for a diff.
+     */
+    private void setupItemTouchHelper() {
+        final ItemTouchHelper itemTouchHelper = new ItemTouchHelper(new ItemTouchHelper.Callback() {
+            @Override
+            public int getMovementFlags(@NonNull RecyclerView recyclerView, @NonNull RecyclerView.ViewHolder viewHolder) {
+                if (mainAdapter.isSelectionMode()) {
+                    return 0;
+                }
+                int dragFlags = mainAdapter.canReorder() ? ItemTouchHelper.UP | ItemTouchHelper.DOWN : 0;
+                return makeMovementFlags(dragFlags, ItemTouchHelper.START | ItemTouchHelper.END);
+            }
+
+            @Override
+            public boolean isLongPressDragEnabled() {
+                // Long press starts selection mode; dragging starts from the handle
+                return false;
+            }
+
+            @Override
+            public boolean onMove(@NonNull RecyclerView recyclerView, @NonNull RecyclerView.ViewHolder viewHolder,
+                                  @NonNull RecyclerView.ViewHolder target) {
+                return mainAdapter.moveItem(viewHolder.getAdapterPosition(), target.getAdapterPosition());
+            }
+
+            @Override
+            public void onSwiped(@NonNull RecyclerView.ViewHolder viewHolder, int direction) {
+                try {
+                    mainAdapter.removeShownItem(viewHolder.getAdapterPosition());
+                } catch (Exception e) {
+                    AppLog.e(TAG, "خطأ في حذف العنصر", e);
+                }
+            }
+        });
+        itemTouchHelper.attachToRecyclerView(mainRecyclerView);
+        mainAdapter.setOnStartDragListener(new RowViewHolder.OnStartDragListener() {
+            @Override
+            public void onStartDrag(RowViewHolder holder) {
+                itemTouchHelper.startDrag(holder);
+            }
+        });
+    }
+
+    /**
+     * Long press starts selection mode; the adapter keeps the selection and the
+     * contextual toolbar only reflects it. Items here have no enabled state, so only
+     * select-all and delete are offered.
+     */
+    private void setupSelection() {
+        selectionActionMode = new SelectionActionMode(this, new SelectionActionMode.Actions() {
+            @Override
+            public void onSelectAll() {
+                mainAdapter.selectAll();
+            }
+
+            @Override
+            public void onSetSelectedEnabled(boolean enabled) {
+            }
+
+            @Override
+            public void onDeleteSelected() {
+                mainAdapter.removeSelected();
+                cacheMainItems();
+                mainAdapter.setSelectionMode(false);
+            }
+
+            @Override
+            public void onSelectionFinished() {
+                mainAdapter.setSelectionMode(false);
+            }
+        }, false, true);
+        mainAdapter.setSelectionListener(new MainAdapter.SelectionListener() {
+            @Override
+            public void onSelectionModeChanged(boolean active) {
+                if (active) {
+                    selectionActionMode.start();
+                } else {
+                    selectionActionMode.finish();
+                }
+            }
+
+            @Override
+            public void onSelectionChanged(int selectedCount) {
+                selectionActionMode.setSelectedCount(selectedCount);
+            }
+        });
+    }
+
+    /**
+     * The adapter hands out an immutable snapshot of its items, so the cache can keep it
+     * as it is. Also called on pause, so reordered and deleted items survive re-entry.
+     */
+    private void cacheMainItems() {
+        ListStateCache.getInstance().putData(ListStateCache.SCREEN_MAIN,
+                languageManager.getCurrentLanguage(), mainAdapter.getAllItems());
+    }
+
+    @Override
+    protected void onPause() {
+        if (mainAdapter != null) {
+            cacheMainItems();
+        }
+        if (mainRecyclerView != null && mainRecyclerView.getLayoutManager() != null) {
+            ListStateCache.getInstance().putScrollState(ListStateCache.SCREEN_MAIN,
+                    mainRecyclerView.getLayoutManager().onSaveInstanceState());
+        }
+        telemetry.stopSampling();
+        super.onPause();
+    }
+
     @Override
     protected void onDestroy() {
+        telemetry.onExit();
         try {
             // Clean up resources
             if (drawerAdapter != null) {
@@ -387,13 +631,19 @@ public class MainActivity extends AppCompatActivity implements DrawerAdapter.OnD
             }
             if (mainAdapter != null) {
                 mainAdapter.setOnItemClickListener(null);
+                mainAdapter.setSelectionListener(null);
+                mainAdapter.setOnStartDragListener(null);
+                mainAdapter.cancelSearch();
+            }
+            if (mainRecyclerView != null) {
+                // Hand the rows back to the shared pool for the next activity instance
+                mainRecyclerView.setAdapter(null);
             }
             
-            Log.d(TAG, "MainActivity تم تدميرها بنجاح");
+            AppLog.d(TAG, "MainActivity تم تدميرها بنجاح");
             
         } catch (Exception e) {
-            Log.e(TAG, "خطأ في onDestroy", e);
-            CrashLogger.logError(TAG, "خطأ في تدمير MainActivity", e);
+            AppLog.e(TAG, "خطأ في تدمير MainActivity", e);
         } finally {
             super.onDestroy();
         }
@@ -1,224 +1,1026 @@
 package com.example.oneuiapp;
 
 import android.content.Context;
-import android.view.LayoutInflater;
-import android.view.View;
+import android.os.CancellationSignal;
+import android.util.SparseArray;
 import android.view.ViewGroup;
-import android.widget.ImageView;
-import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
+import java.util.AbstractList;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
-public class MainAdapter extends RecyclerView.Adapter<MainAdapter.MainViewHolder> {
+public class MainAdapter extends RecyclerView.Adapter<RowViewHolder> {
+
+    private static final Metrics.Histogram BIND_LATENCY = Metrics.histogram("bind.main_list");
+
+    static final int PAYLOAD_TITLE = 1;
+    // Not a data change: only the row's checkbox follows the selection
+    static final int PAYLOAD_SELECTION = 2;
+    // Only the drag handle follows whether the list can be reordered
+    static final int PAYLOAD_DRAG_HANDLE = 4;
+
+    // Wait for a pause in typing before querying
+    private static final long SEARCH_DEBOUNCE_MS = 150;
+
+    private static final int TEXT_CACHE_SIZE = 256;
+    // Rows measured ahead of and behind the last bound position
+    private static final int TEXT_PREFETCH_DISTANCE = 24;
+
+    private static final DiffUtil.ItemCallback<Row> DIFF_CALLBACK = new DiffUtil.ItemCallback<Row>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Row oldItem, @NonNull Row newItem) {
+            return oldItem.id == newItem.id;
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Row oldItem, @NonNull Row newItem) {
+            return oldItem.text.equals(newItem.text);
+        }
+
+        @Nullable
+        @Override
+        public Object getChangePayload(@NonNull Row oldItem, @NonNull Row newItem) {
+            return PAYLOAD_TITLE;
+        }
+    };
 
     private Context context;
-    private List<String> items;
+    // Context used for strings; replaced on in-place language changes
+    private Context textContext;
+    // All rows, edited in place on the main thread. Single-row edits, moves and lookups by
+    // id or text are O(1) amortized; other threads read its immutable snapshot()
+    private final IndexedRowList rows = new IndexedRowList();
+    // Rows on screen: the row list itself, or an immutable search result while filtering.
+    // During a whole-list diff it is the immutable list the diff started from.
+    private List<Row> shown = rows;
+    // Whole-list changes are diffed on the background executor; a newer change or a local
+    // edit supersedes the running diff
+    private int diffGeneration;
+    private List<Row> pendingShown;
+    private long nextRowId = 1;
     private OnItemClickListener itemClickListener;
+    // One listener for all rows, handed to each holder on bind
+    private final RowViewHolder.OnRowClickListener rowClickListener = new RowViewHolder.OnRowClickListener() {
+        @Override
+        public void onRowClick(RowViewHolder holder) {
+            int position = holder.getAdapterPosition();
+            if (selectionMode) {
+                toggleSelection(position);
+                return;
+            }
+            if (itemClickListener != null) {
+                itemClickListener.onItemClick(shown.get(position).text, position);
+            }
+        }
+
+        @Override
+        public boolean onRowLongClick(RowViewHolder holder) {
+            int position = holder.getAdapterPosition();
+            if (!selectionMode) {
+                setSelectionMode(true);
+                toggleSelection(position);
+            } else {
+                // Long press in selection mode extends the selection from the last toggled row
+                selectRange(selectionAnchor != RecyclerView.NO_POSITION ? selectionAnchor : position, position);
+            }
+            return true;
+        }
+    };
+    // Selected rows by row id; ids are handed out in sequence so the set stays dense
+    private final SelectionBitSet selection = new SelectionBitSet();
+    private boolean selectionMode;
+    private int selectionAnchor = RecyclerView.NO_POSITION;
+    private SelectionListener selectionListener;
+    private RowViewHolder.OnStartDragListener startDragListener;
+    // Whether bound rows show their drag handle; see showsDragHandles()
+    private boolean dragHandlesShown;
+    // Handed to the rows; only passes the drag on while reordering is possible
+    private final RowViewHolder.OnStartDragListener dragHandleListener = new RowViewHolder.OnStartDragListener() {
+        @Override
+        public void onStartDrag(RowViewHolder holder) {
+            if (startDragListener != null && canReorder()) {
+                startDragListener.onStartDrag(holder);
+            }
+        }
+    };
+    // Row texts measured and shaped off the main thread
+    private final PrecomputedTextCache titleLayouts = new PrecomputedTextCache(TEXT_CACHE_SIZE);
+    private final PrecomputedTextCache descriptionLayouts = new PrecomputedTextCache(TEXT_CACHE_SIZE);
+    private int textPrefetchCenter = Integer.MIN_VALUE;
+    // Formatted per-row strings, built once per language so binding allocates nothing
+    private final SparseArray<String> descriptionsByPosition = new SparseArray<>();
+    private final Map<String, String> contentDescriptions = new HashMap<>();
+    private final StringBuilder textBuilder = new StringBuilder();
+    private String descriptionPrefix;
+    private String contentDescriptionPrefix;
+
+    // Owned by the search executor; updated there in the same order as the rows change here
+    private final SearchIndex searchIndex = new SearchIndex(Locale.getDefault());
+    private String query = "";
+    private CancellationSignal pendingSearch;
+    private final Runnable searchRunnable = new Runnable() {
+        @Override
+        public void run() {
+            startSearch();
+        }
+    };
 
     public interface OnItemClickListener {
         void onItemClick(String item, int position);
     }
 
+    public interface SelectionListener {
+        void onSelectionModeChanged(boolean active);
+
+        void onSelectionChanged(int selectedCount);
+    }
+
     public MainAdapter(Context context) {
         this.context = context;
-        this.items = new ArrayList<>();
+        this.textContext = context;
+        setHasStableIds(true);
     }
 
     public MainAdapter(Context context, List<String> items) {
-        this.context = context;
-        this.items = items != null ? new ArrayList<>(items) : new ArrayList<>();
+        this(context);
+        setItems(items);
+    }
+
+    /**
+     * Switch strings to another language. Generated sample rows are re-localized in place;
+     * the user's edits, order and deletions are kept.
+     */
+    public void updateLanguage(Context textContext) {
+        Context previous = this.textContext;
+        this.textContext = textContext;
+        invalidateTextLayouts();
+        relocalizeSampleItems(previous);
+    }
+
+    /**
+     * Rewrite the rows generated by generateSampleData() in fromTextContext's language,
+     * e.g. "Item 3", into the current language. Rows keep their id and position, so the
+     * diff only rebinds titles; rows the user added or renamed are left alone.
+     */
+    public void relocalizeSampleItems(Context fromTextContext) {
+        String from = sampleItemPrefix(fromTextContext);
+        String to = sampleItemPrefix(textContext);
+        if (from.equals(to)) {
+            return;
+        }
+        List<Row> relocalized = null;
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            String text = relocalize(row.text, from, to);
+            if (text != row.text) {
+                if (relocalized == null) {
+                    relocalized = new ArrayList<>(rows);
+                }
+                relocalized.set(i, new Row(row.id, text));
+            }
+        }
+        if (relocalized != null) {
+            replaceRows(PersistentVector.copyOf(relocalized));
+        }
+    }
+
+    private static String sampleItemPrefix(Context textContext) {
+        return textContext.getString(R.string.main_item) + " ";
+    }
+
+    /**
+     * @return the text in the other language if it is a generated sample row, else the same instance
+     */
+    private static String relocalize(String text, String from, String to) {
+        if (text == null || text.length() == from.length() || !text.startsWith(from)) {
+            return text;
+        }
+        for (int i = from.length(); i < text.length(); i++) {
+            if (!Character.isDigit(text.charAt(i))) {
+                return text;
+            }
+        }
+        return to + text.substring(from.length());
+    }
+
+    /**
+     * Drop measured texts after a language, font scale or theme change
+     */
+    public void invalidateTextLayouts() {
+        titleLayouts.invalidate();
+        descriptionLayouts.invalidate();
+        textPrefetchCenter = Integer.MIN_VALUE;
+        descriptionsByPosition.clear();
+        contentDescriptions.clear();
+        descriptionPrefix = null;
+        contentDescriptionPrefix = null;
+    }
+
+    private String descriptionFor(int position) {
+        String description = descriptionsByPosition.get(position);
+        if (description == null) {
+            if (descriptionPrefix == null) {
+                descriptionPrefix = textContext.getString(R.string.main_item_description);
+            }
+            if (descriptionsByPosition.size() >= TEXT_CACHE_SIZE * 4) {
+                descriptionsByPosition.clear();
+            }
+            textBuilder.setLength(0);
+            description = textBuilder.append(descriptionPrefix).append(' ').append(position + 1).toString();
+            descriptionsByPosition.put(position, description);
+        }
+        return description;
+    }
+
+    private String contentDescriptionFor(String item) {
+        String contentDescription = contentDescriptions.get(item);
+        if (contentDescription == null) {
+            if (contentDescriptionPrefix == null) {
+                contentDescriptionPrefix = textContext.getString(R.string.main_item);
+            }
+            if (contentDescriptions.size() >= TEXT_CACHE_SIZE * 4) {
+                contentDescriptions.clear();
+            }
+            textBuilder.setLength(0);
+            contentDescription = textBuilder.append(contentDescriptionPrefix).append(": ").append(item).toString();
+            contentDescriptions.put(item, contentDescription);
+        }
+        return contentDescription;
     }
 
     public void setItems(List<String> items) {
-        this.items.clear();
-        if (items != null) {
-            this.items.addAll(items);
+        submit(items, false);
+    }
+
+    /**
+     * Items saved in another language, e.g. before the activity was recreated for a language
+     * change. The generated rows are re-localized before anything is shown.
+     */
+    public void setItems(List<String> items, Context itemsTextContext) {
+        String from = sampleItemPrefix(itemsTextContext);
+        String to = sampleItemPrefix(textContext);
+        if (items == null || from.equals(to)) {
+            setItems(items);
+            return;
         }
-        notifyDataSetChanged();
+        List<String> localized = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            localized.add(relocalize(items.get(i), from, to));
+        }
+        setItems(localized);
     }
 
     public void addItem(String item) {
         if (item != null) {
-            this.items.add(item);
-            notifyItemInserted(items.size() - 1);
+            List<Row> added = new ArrayList<>(1);
+            added.add(new Row(nextRowId++, item));
+            insertRows(added);
         }
     }
 
     public void addItems(List<String> newItems) {
         if (newItems != null && !newItems.isEmpty()) {
-            int startPosition = this.items.size();
-            this.items.addAll(newItems);
-            notifyItemRangeInserted(startPosition, newItems.size());
+            List<Row> added = new ArrayList<>(newItems.size());
+            for (String item : newItems) {
+                if (item != null) {
+                    added.add(new Row(nextRowId++, item));
+                }
+            }
+            insertRows(added);
         }
     }
 
     public void clearItems() {
-        int itemCount = this.items.size();
-        this.items.clear();
-        notifyItemRangeRemoved(0, itemCount);
+        replaceRows(PersistentVector.<Row>empty());
     }
 
+    /**
+     * Remove the row at a position of the full list. Removals are applied in place and
+     * notified directly, without a diff.
+     */
     public void removeItem(int position) {
-        if (position >= 0 && position < items.size()) {
-            items.remove(position);
+        if (position < 0 || position >= rows.size()) {
+            return;
+        }
+        flushPendingDiff();
+        Row row = rows.remove(position);
+        onRowRemoved(row);
+        if (shown == rows) {
             notifyItemRemoved(position);
+        } else {
+            removeFromSearchResult(row.id);
+        }
+    }
+
+    /**
+     * Remove the row at a position on screen, e.g. after a swipe; also under a filter
+     */
+    public void removeShownItem(int position) {
+        if (position >= 0 && position < shown.size()) {
+            removeItem(rows.positionOfId(shown.get(position).id));
+        }
+    }
+
+    /**
+     * Rows can be dragged only when the whole list is shown and no selection is in progress
+     */
+    public boolean canReorder() {
+        return reorderAllowed() && shown == rows && pendingShown == null;
+    }
+
+    /**
+     * The lasting part of canReorder(): no filter and no selection. A diff still in flight
+     * only blocks the drag itself, so the handles do not flicker on every data refresh.
+     */
+    private boolean reorderAllowed() {
+        return query.isEmpty() && !selectionMode;
+    }
+
+    private boolean showsDragHandles() {
+        return startDragListener != null && reorderAllowed();
+    }
+
+    /**
+     * Rebind the drag handles of the bound rows after the filter, the selection mode or
+     * the drag listener changed
+     */
+    private void updateDragHandles() {
+        boolean visible = showsDragHandles();
+        if (visible != dragHandlesShown) {
+            dragHandlesShown = visible;
+            notifyItemRangeChanged(0, getItemCount(), PAYLOAD_DRAG_HANDLE);
         }
     }
 
+    /**
+     * Move a row during a drag. Each step moves the row by one or a few positions, which
+     * the gap buffer does in constant time.
+     *
+     * @return false if the list cannot be reordered right now
+     */
+    public boolean moveItem(int fromPosition, int toPosition) {
+        if (!canReorder() || fromPosition < 0 || fromPosition >= rows.size()
+                || toPosition < 0 || toPosition >= rows.size()) {
+            return false;
+        }
+        rows.move(fromPosition, toPosition);
+        notifyItemMoved(fromPosition, toPosition);
+        return true;
+    }
+
+    public void setOnStartDragListener(RowViewHolder.OnStartDragListener listener) {
+        this.startDragListener = listener;
+        updateDragHandles();
+    }
+
     public String getItem(int position) {
-        if (position >= 0 && position < items.size()) {
-            return items.get(position);
+        if (position >= 0 && position < shown.size()) {
+            return shown.get(position).text;
         }
         return null;
     }
 
+    /**
+     * Wrap the strings in rows with stable ids and submit them for diffing.
+     * Strings keep the id of an equal string in the current list; with matchByPosition
+     * the row at the same position keeps its id instead (used when only the text changes,
+     * e.g. the same items in another language).
+     */
+    private void submit(List<String> items, boolean matchByPosition) {
+        List<Row> current = rows;
+        if (items == null) {
+            replaceRows(PersistentVector.<Row>empty());
+            return;
+        }
+        List<Row> newRows = new ArrayList<>(items.size());
+
+        if (matchByPosition) {
+            for (int i = 0; i < items.size(); i++) {
+                long id = i < current.size() ? current.get(i).id : nextRowId++;
+                newRows.add(new Row(id, items.get(i)));
+            }
+        } else {
+            Map<String, ArrayDeque<Long>> idsByText = new HashMap<>();
+            for (Row row : current) {
+                ArrayDeque<Long> ids = idsByText.get(row.text);
+                if (ids == null) {
+                    ids = new ArrayDeque<>();
+                    idsByText.put(row.text, ids);
+                }
+                ids.add(row.id);
+            }
+            for (String text : items) {
+                if (text == null) {
+                    continue;
+                }
+                ArrayDeque<Long> ids = idsByText.get(text);
+                Long id = ids != null ? ids.poll() : null;
+                newRows.add(new Row(id != null ? id : nextRowId++, text));
+            }
+        }
+        replaceRows(PersistentVector.copyOf(newRows));
+    }
+
+    /**
+     * Append rows in place; shown at once, or through the filter while searching
+     */
+    private void insertRows(List<Row> added) {
+        onRowsAdded(added);
+        flushPendingDiff();
+        int start = rows.size();
+        rows.addAll(added);
+        if (shown == rows) {
+            notifyItemRangeInserted(start, added.size());
+        } else {
+            restartSearch();
+        }
+    }
+
+    /**
+     * Replace every row, e.g. new data or another language. The rows on screen stay as an
+     * immutable snapshot until the diff against the new rows has been applied.
+     */
+    private void replaceRows(PersistentVector<Row> newRows) {
+        onRowsReplaced(newRows);
+        flushPendingDiff();
+        if (shown == rows) {
+            shown = rows.snapshot();
+        }
+        rows.setAll(newRows);
+        if (query.isEmpty()) {
+            show(rows);
+        } else {
+            // The data changed under an active filter: re-run it against the new rows
+            restartSearch();
+        }
+    }
+
+    /**
+     * Diff what is on screen against the new list on the background executor and apply the
+     * result on the main thread, unless something newer came first. An empty list is
+     * filled synchronously.
+     */
+    private void show(final List<Row> newShown) {
+        if (shown == newShown && pendingShown == null) {
+            return;
+        }
+        if (shown.isEmpty()) {
+            // Nothing on screen to diff against: the first fill is applied at once, so the
+            // list never starts out blank and a restored scroll position finds its rows
+            diffGeneration++;
+            pendingShown = null;
+            shown = newShown;
+            if (!newShown.isEmpty()) {
+                notifyItemRangeInserted(0, newShown.size());
+            }
+            return;
+        }
+        final int generation = ++diffGeneration;
+        pendingShown = newShown;
+        // The row list is read on the main thread only; the diff gets immutable snapshots
+        final List<Row> oldRows = shown == rows ? rows.snapshot() : shown;
+        final List<Row> newRows = newShown == rows ? rows.snapshot() : newShown;
+        AppExecutors.background().execute(new Runnable() {
+            @Override
+            public void run() {
+                final DiffUtil.DiffResult result = DiffUtil.calculateDiff(new RowDiff(oldRows, newRows));
+                AppExecutors.mainHandler().post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (generation == diffGeneration) {
+                            pendingShown = null;
+                            shown = newShown;
+                            result.dispatchUpdatesTo(MainAdapter.this);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Called before any in-place edit: a running diff was computed against rows about to
+     * change, so its target is shown right away instead. Rare, as diffs finish quickly.
+     */
+    private void flushPendingDiff() {
+        if (pendingShown != null) {
+            diffGeneration++;
+            shown = pendingShown;
+            pendingShown = null;
+            notifyDataSetChanged();
+        }
+    }
+
+    /**
+     * A row was removed while filtering: drop it from the result on screen too
+     */
+    private void removeFromSearchResult(long id) {
+        for (int i = 0; i < shown.size(); i++) {
+            if (shown.get(i).id == id) {
+                // Search results are immutable snapshots
+                shown = ((PersistentVector<Row>) shown).minus(i);
+                notifyItemRemoved(i);
+                break;
+            }
+        }
+        if (pendingSearch != null) {
+            // A search in flight still sees the removed row
+            restartSearch();
+        }
+    }
+
+    private void restartSearch() {
+        AppExecutors.mainHandler().removeCallbacks(searchRunnable);
+        startSearch();
+    }
+
+    private void onRowsAdded(final List<Row> added) {
+        AppExecutors.search().execute(new Runnable() {
+            @Override
+            public void run() {
+                for (Row row : added) {
+                    searchIndex.add(row.id, row.text);
+                }
+            }
+        });
+    }
+
+    private void onRowRemoved(final Row row) {
+        selection.set((int) row.id, false);
+        AppExecutors.search().execute(new Runnable() {
+            @Override
+            public void run() {
+                searchIndex.remove(row.id);
+            }
+        });
+    }
+
+    private void onRowUpdated(final Row newRow) {
+        AppExecutors.search().execute(new Runnable() {
+            @Override
+            public void run() {
+                searchIndex.add(newRow.id, newRow.text);
+            }
+        });
+    }
+
+    private void onRowsReplaced(PersistentVector<Row> rows) {
+        final long[] ids = new long[rows.size()];
+        final String[] texts = new String[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            ids[i] = row.id;
+            texts[i] = row.text;
+        }
+        // Unchanged rows keep their index entries; only new or edited texts are re-indexed
+        AppExecutors.search().execute(new Runnable() {
+            @Override
+            public void run() {
+                searchIndex.replaceAll(ids, texts);
+            }
+        });
+    }
+
     public void setOnItemClickListener(OnItemClickListener listener) {
         this.itemClickListener = listener;
     }
 
-    @NonNull
-    @Override
-    public MainViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        View itemView = LayoutInflater.from(context).inflate(R.layout.main_item, parent, false);
-        return new MainViewHolder(itemView);
+    public void setSelectionListener(SelectionListener listener) {
+        this.selectionListener = listener;
     }
 
-    @Override
-    public void onBindViewHolder(@NonNull MainViewHolder holder, int position) {
-        String item = items.get(position);
-        holder.bind(item, position);
+    public boolean isSelectionMode() {
+        return selectionMode;
     }
 
-    @Override
-    public int getItemCount() {
-        return items.size();
+    /**
+     * Show or hide the checkboxes. Leaving selection mode clears the selection.
+     * Either way only the checkbox of each bound row is rebound.
+     */
+    public void setSelectionMode(boolean active) {
+        if (selectionMode == active) {
+            return;
+        }
+        selectionMode = active;
+        selectionAnchor = RecyclerView.NO_POSITION;
+        if (!active) {
+            selection.clear();
+        }
+        notifyItemRangeChanged(0, getItemCount(), PAYLOAD_SELECTION);
+        updateDragHandles();
+        if (selectionListener != null) {
+            selectionListener.onSelectionModeChanged(active);
+            selectionListener.onSelectionChanged(selection.cardinality());
+        }
     }
 
-    public class MainViewHolder extends RecyclerView.ViewHolder {
+    public int getSelectedCount() {
+        return selection.cardinality();
+    }
 
-        private ImageView iconImageView;
-        private TextView titleTextView;
-        private TextView descriptionTextView;
-        private ImageView chevronImageView;
+    public void toggleSelection(int position) {
+        if (position < 0 || position >= getItemCount()) {
+            return;
+        }
+        selection.toggle((int) getItemId(position));
+        selectionAnchor = position;
+        notifyItemChanged(position, PAYLOAD_SELECTION);
+        dispatchSelectionChanged();
+    }
 
-        public MainViewHolder(@NonNull View itemView) {
-            super(itemView);
-            iconImageView = itemView.findViewById(R.id.main_item_icon);
-            titleTextView = itemView.findViewById(R.id.main_item_title);
-            descriptionTextView = itemView.findViewById(R.id.main_item_description);
-            chevronImageView = itemView.findViewById(R.id.main_item_chevron);
+    /**
+     * Select every shown row between two positions, both included
+     */
+    public void selectRange(int fromPosition, int toPosition) {
+        int low = Math.max(0, Math.min(fromPosition, toPosition));
+        int high = Math.min(getItemCount() - 1, Math.max(fromPosition, toPosition));
+        if (low > high) {
+            return;
+        }
+        for (int position = low; position <= high; position++) {
+            selection.set((int) shown.get(position).id, true);
+        }
+        selectionAnchor = toPosition;
+        notifyItemRangeChanged(low, high - low + 1, PAYLOAD_SELECTION);
+        dispatchSelectionChanged();
+    }
 
-            itemView.setOnClickListener(new View.OnClickListener() {
-                @Override
-                public void onClick(View v) {
-                    int position = getAdapterPosition();
-                    if (position != RecyclerView.NO_POSITION && itemClickListener != null) {
-                        itemClickListener.onItemClick(items.get(position), position);
-                    }
-                }
-            });
+    /**
+     * Select every shown row; under a filter only the matches
+     */
+    public void selectAll() {
+        for (int i = 0; i < shown.size(); i++) {
+            selection.set((int) shown.get(i).id, true);
         }
+        notifyItemRangeChanged(0, shown.size(), PAYLOAD_SELECTION);
+        dispatchSelectionChanged();
+    }
 
-        public void bind(String item, int position) {
-            if (item == null) {
-                return;
+    /**
+     * Remove every selected row in one pass: one snapshot, one index rebuild, one diff
+     *
+     * @return the number of rows removed
+     */
+    public int removeSelected() {
+        if (selection.isEmpty()) {
+            return 0;
+        }
+        List<Row> kept = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            if (!selection.get((int) row.id)) {
+                kept.add(row);
             }
+        }
+        int removed = rows.size() - kept.size();
+        selection.clear();
+        replaceRows(PersistentVector.copyOf(kept));
+        dispatchSelectionChanged();
+        return removed;
+    }
 
-            titleTextView.setText(item);
+    private void dispatchSelectionChanged() {
+        if (selectionListener != null) {
+            selectionListener.onSelectionChanged(selection.cardinality());
+        }
+    }
 
-            // Set description based on position
-            String description = context.getString(R.string.main_item_description) + " " + (position + 1);
-            descriptionTextView.setText(description);
-            descriptionTextView.setVisibility(View.VISIBLE);
+    @NonNull
+    @Override
+    public RowViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        RowViewHolder holder = new RowViewHolder(RowViewPool.getInstance(context).inflateRow(parent));
+        titleLayouts.attach(holder.getTitleView());
+        descriptionLayouts.attach(holder.getDescriptionView());
+        return holder;
+    }
 
-            // Set icon based on position pattern
-            int iconResource = getIconForPosition(position);
-            if (iconResource != 0) {
-                iconImageView.setImageResource(iconResource);
-                iconImageView.setVisibility(View.VISIBLE);
-            } else {
-                iconImageView.setVisibility(View.GONE);
+    @Override
+    public void onBindViewHolder(@NonNull RowViewHolder holder, int position) {
+        long start = AppTrace.beginSection("MainAdapter.onBindViewHolder");
+        String item = shown.get(position).text;
+        holder.setOnRowClickListener(rowClickListener);
+        holder.setOnStartDragListener(dragHandlesShown ? dragHandleListener : null);
+        bind(holder, item, position);
+        holder.setSelectionState(selectionMode, selection.get((int) getItemId(position)));
+        prefetchTextLayouts(position);
+        AppTrace.endSection();
+        BIND_LATENCY.recordSince(start);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RowViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        int changes = 0;
+        for (int i = 0; i < payloads.size(); i++) {
+            changes |= (Integer) payloads.get(i);
+        }
+        Row row = shown.get(position);
+        if ((changes & PAYLOAD_TITLE) != 0) {
+            // Refresh the title and its content description
+            bindTitle(holder, row.text);
+        }
+        if ((changes & PAYLOAD_SELECTION) != 0) {
+            holder.setSelectionState(selectionMode, selection.get((int) row.id));
+        }
+        if ((changes & PAYLOAD_DRAG_HANDLE) != 0) {
+            holder.setOnStartDragListener(dragHandlesShown ? dragHandleListener : null);
+        }
+    }
+
+    @Override
+    public void onViewRecycled(@NonNull RowViewHolder holder) {
+        // The row may go to the shared pool and another list; it must not keep this adapter
+        holder.setOnRowClickListener(null);
+        holder.setOnStartDragListener(null);
+    }
+
+    /**
+     * Measure the texts of the rows around the bound position on the background executor,
+     * so rows scrolling in next find their layouts ready. Re-scheduled only after moving
+     * half the distance.
+     */
+    private void prefetchTextLayouts(int position) {
+        if (Math.abs((long) position - textPrefetchCenter) < TEXT_PREFETCH_DISTANCE / 2) {
+            return;
+        }
+        textPrefetchCenter = position;
+        int from = Math.max(0, position - TEXT_PREFETCH_DISTANCE);
+        int to = Math.min(shown.size(), position + TEXT_PREFETCH_DISTANCE + 1);
+        final String[] titles = new String[to - from];
+        final String[] descriptions = new String[to - from];
+        for (int i = from; i < to; i++) {
+            titles[i - from] = shown.get(i).text;
+            // Also warms the description cache the bind path reads from
+            descriptions[i - from] = descriptionFor(i);
+        }
+        AppExecutors.background().execute(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < titles.length; i++) {
+                    titleLayouts.precompute(titles[i]);
+                    descriptionLayouts.precompute(descriptions[i]);
+                }
             }
+        });
+    }
 
-            // Always show chevron for main items
-            chevronImageView.setVisibility(View.VISIBLE);
+    @Override
+    public long getItemId(int position) {
+        return shown.get(position).id;
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return RowViewPool.VIEW_TYPE_ROW;
+    }
 
-            // Set content description for accessibility
-            itemView.setContentDescription(
-                context.getString(R.string.main_item) + ": " + item
-            );
+    @Override
+    public int getItemCount() {
+        return shown.size();
+    }
 
-            // Set click ripple effect
-            itemView.setEnabled(true);
-            itemView.setAlpha(1.0f);
+    private void bind(RowViewHolder holder, String item, int position) {
+        if (item == null) {
+            return;
         }
 
-        private int getIconForPosition(int position) {
-            // Use different icons based on position pattern
-            // These can be updated when actual OneUI icons are available
-            switch (position % 6) {
-                case 0:
-                    return android.R.drawable.ic_menu_info_details;
-                case 1:
-                    return android.R.drawable.ic_menu_agenda;
-                case 2:
-                    return android.R.drawable.ic_menu_call;
-                case 3:
-                    return android.R.drawable.ic_menu_camera;
-                case 4:
-                    return android.R.drawable.ic_menu_gallery;
-                case 5:
-                    return android.R.drawable.ic_menu_manage;
-                default:
-                    return android.R.drawable.ic_menu_info_details;
-            }
+        // Title and content description for accessibility
+        bindTitle(holder, item);
+
+        // Set description based on position; cached strings, skipped when unchanged
+        holder.setDescription(descriptionLayouts, descriptionFor(position));
+
+        // Set icon based on position pattern
+        holder.setIcon(getIconForPosition(position));
+
+        // Always show chevron for main items
+        holder.setChevronVisible(true);
+
+        // Set click ripple effect
+        holder.setRowEnabled(true);
+    }
+
+    private void bindTitle(RowViewHolder holder, String item) {
+        holder.setTitle(titleLayouts, item, contentDescriptionFor(item));
+    }
+
+    private static int getIconForPosition(int position) {
+        // Use different icons based on position pattern
+        // These can be updated when actual OneUI icons are available
+        switch (position % 6) {
+            case 0:
+                return android.R.drawable.ic_menu_info_details;
+            case 1:
+                return android.R.drawable.ic_menu_agenda;
+            case 2:
+                return android.R.drawable.ic_menu_call;
+            case 3:
+                return android.R.drawable.ic_menu_camera;
+            case 4:
+                return android.R.drawable.ic_menu_gallery;
+            case 5:
+                return android.R.drawable.ic_menu_manage;
+            default:
+                return android.R.drawable.ic_menu_info_details;
         }
     }
 
     // Helper methods for data management
+    // Size helpers and position-based edits address the full list, not the filtered view
     public boolean isEmpty() {
-        return items.isEmpty();
+        return rows.isEmpty();
     }
 
     public int getSize() {
-        return items.size();
+        return rows.size();
     }
 
+    /**
+     * Read-only view of the current rows' texts, backed by an immutable snapshot that is
+     * built once after each edit and can be kept beyond this adapter
+     */
     public List<String> getAllItems() {
-        return new ArrayList<>(items);
+        final PersistentVector<Row> snapshot = rows.snapshot();
+        return new AbstractList<String>() {
+            @Override
+            public String get(int index) {
+                return snapshot.get(index).text;
+            }
+
+            @Override
+            public int size() {
+                return snapshot.size();
+            }
+        };
     }
 
     public void updateItem(int position, String newItem) {
-        if (position >= 0 && position < items.size() && newItem != null) {
-            items.set(position, newItem);
-            notifyItemChanged(position);
+        if (position >= 0 && position < rows.size() && newItem != null) {
+            flushPendingDiff();
+            // Same id, new text: only the title is rebound
+            Row newRow = new Row(rows.get(position).id, newItem);
+            rows.set(position, newRow);
+            onRowUpdated(newRow);
+            if (shown == rows) {
+                notifyItemChanged(position, PAYLOAD_TITLE);
+            } else {
+                // The new text may no longer match the filter
+                restartSearch();
+            }
         }
     }
 
     public boolean contains(String item) {
-        return items.contains(item);
+        return item != null && rows.containsText(item);
     }
 
+    /**
+     * First position of the text in the full list, from the row list's text index
+     */
     public int indexOf(String item) {
-        return items.indexOf(item);
+        return item != null ? rows.indexOfText(item) : -1;
     }
 
     // Method to generate sample data
     public void generateSampleData(int count) {
         List<String> sampleItems = new ArrayList<>();
         for (int i = 1; i <= count; i++) {
-            sampleItems.add(context.getString(R.string.main_item) + " " + i);
+            sampleItems.add(textContext.getString(R.string.main_item) + " " + i);
         }
-        setItems(sampleItems);
+        // Item i is the same row whatever the language, so keep ids by position
+        submit(sampleItems, true);
     }
 
-    // Method to filter items (for search functionality if needed later)
+    /**
+     * Show only the items containing the query (case-insensitive); empty or null shows all.
+     * Typing is debounced, queries run on the search executor and a newer query cancels
+     * the one in flight. The filtered list is diffed like any other update.
+     */
     public void filterItems(String query) {
-        // This method can be implemented later for search functionality
-        // For now, it's a placeholder for future enhancements
+        String normalized = query != null ? query.trim() : "";
+        if (normalized.equals(this.query)) {
+            return;
+        }
+        this.query = normalized;
+        updateDragHandles();
+        cancelSearch();
+        if (normalized.isEmpty()) {
+            show(rows);
+        } else {
+            AppExecutors.mainHandler().postDelayed(searchRunnable, SEARCH_DEBOUNCE_MS);
+        }
+    }
+
+    public void cancelSearch() {
+        AppExecutors.mainHandler().removeCallbacks(searchRunnable);
+        if (pendingSearch != null) {
+            pendingSearch.cancel();
+            pendingSearch = null;
+        }
+    }
+
+    private void startSearch() {
+        if (pendingSearch != null) {
+            pendingSearch.cancel();
+        }
+        final CancellationSignal signal = new CancellationSignal();
+        pendingSearch = signal;
+        final String searchQuery = query;
+        // Index updates for this snapshot were queued before this task, so both agree
+        final PersistentVector<Row> snapshot = rows.snapshot();
+
+        AppExecutors.search().execute(new Runnable() {
+            @Override
+            public void run() {
+                long start = AppTrace.beginSection("MainAdapter.search");
+                Set<Long> matches = searchIndex.query(searchQuery, signal);
+                final List<Row> filtered = new ArrayList<>();
+                if (matches != null && !matches.isEmpty()) {
+                    for (int i = 0; i < snapshot.size(); i++) {
+                        Row row = snapshot.get(i);
+                        if (matches.contains(row.id)) {
+                            filtered.add(row);
+                        }
+                    }
+                }
+                AppTrace.endSection("MainAdapter.search", start);
+                if (matches == null || signal.isCanceled()) {
+                    return;
+                }
+                AppExecutors.mainHandler().post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (pendingSearch == signal && !signal.isCanceled()) {
+                            pendingSearch = null;
+                            show(PersistentVector.copyOf(filtered));
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Compares two immutable row lists with the item callback, on the background executor
+     */
+    private static final class RowDiff extends DiffUtil.Callback {
+        private final List<Row> oldRows;
+        private final List<Row> newRows;
+
+        RowDiff(List<Row> oldRows, List<Row> newRows) {
+            this.oldRows = oldRows;
+            this.newRows = newRows;
+        }
+
+        @Override
+        public int getOldListSize() {
+            return oldRows.size();
+        }
+
+        @Override
+        public int getNewListSize() {
+            return newRows.size();
+        }
+
+        @Override
+        public boolean areItemsTheSame(int oldPosition, int newPosition) {
+            return DIFF_CALLBACK.areItemsTheSame(oldRows.get(oldPosition), newRows.get(newPosition));
+        }
+
+        @Override
+        public boolean areContentsTheSame(int oldPosition, int newPosition) {
+            return DIFF_CALLBACK.areContentsTheSame(oldRows.get(oldPosition), newRows.get(newPosition));
+        }
+
+        @Override
+        public Object getChangePayload(int oldPosition, int newPosition) {
+            return DIFF_CALLBACK.getChangePayload(oldRows.get(oldPosition), newRows.get(newPosition));
+        }
+    }
+
+    /**
+     * A string item with the stable id used for diffing and getItemId
+     */
+    static final class Row {
+        final long id;
+        final String text;
+
+        Row(long id, String text) {
+            this.id = id;
+            this.text = text;
+        }
     }
 }
@@ -0,0 +1,103 @@
+package com.example.oneuiapp;
+
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Printer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * رصد أبطأ رسائل الخيط الرئيسي عبر Looper.setMessageLogging
+ * يعمل في نسخة التطوير فقط لأن Looper يبني نصاً لكل رسالة عند تفعيل الطابعة.
+ */
+public final class MainThreadMonitor implements Printer {
+
+    private static final int TOP_N = 10;
+    private static final long SLOW_MESSAGE_MS = 16;
+
+    private static final Metrics.Counter SLOW_MESSAGES = Metrics.counter("looper.slow_messages");
+    private static final Metrics.Histogram DISPATCH_TIME = Metrics.histogram("looper.dispatch_time");
+
+    private static MainThreadMonitor instance;
+
+    // مرتبة تنازلياً حسب المدة
+    private final List<SlowMessage> slowest = new ArrayList<>(TOP_N + 1);
+    private long dispatchStartNs;
+    private String dispatchDescription;
+
+    private MainThreadMonitor() {
+    }
+
+    public static synchronized void install() {
+        if (instance == null) {
+            instance = new MainThreadMonitor();
+            Looper.getMainLooper().setMessageLogging(instance);
+        }
+    }
+
+    public static synchronized boolean isInstalled() {
+        return instance != null;
+    }
+
+    /**
+     * نسخة من أبطأ الرسائل المسجلة (آمنة للاستدعاء من أي خيط)
+     */
+    public static List<SlowMessage> getSlowestMessages() {
+        MainThreadMonitor monitor;
+        synchronized (MainThreadMonitor.class) {
+            monitor = instance;
+        }
+        if (monitor == null) {
+            return new ArrayList<>();
+        }
+        synchronized (monitor.slowest) {
+            return new ArrayList<>(monitor.slowest);
+        }
+    }
+
+    @Override
+    public void println(String line) {
+        if (line.startsWith(">>>>>")) {
+            dispatchStartNs = System.nanoTime();
+            dispatchDescription = line;
+        } else if (line.startsWith("<<<<<") && dispatchDescription != null) {
+            long durationNs = System.nanoTime() - dispatchStartNs;
+            DISPATCH_TIME.record(durationNs);
+            long durationMs = durationNs / 1_000_000;
+            if (durationMs >= SLOW_MESSAGE_MS) {
+                SLOW_MESSAGES.increment();
+                offer(new SlowMessage(durationMs, dispatchDescription.substring(5).trim(),
+                        SystemClock.uptimeMillis()));
+            }
+            dispatchDescription = null;
+        }
+    }
+
+    private void offer(SlowMessage message) {
+        synchronized (slowest) {
+            int index = slowest.size();
+            while (index > 0 && slowest.get(index - 1).durationMs < message.durationMs) {
+                index--;
+            }
+            if (index < TOP_N) {
+                slowest.add(index, message);
+                if (slowest.size() > TOP_N) {
+                    slowest.remove(slowest.size() - 1);
+                }
+            }
+        }
+    }
+
+    public static final class SlowMessage {
+        public final long durationMs;
+        public final String description;
+        public final long uptimeMs;
+
+        SlowMessage(long durationMs, String description, long uptimeMs) {
+            this.durationMs = durationMs;
+            this.description = description;
+            this.uptimeMs = uptimeMs;
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.example.oneuiapp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * سجل مقاييس على مستوى العملية: عدادات وقيم لحظية ومدرجات زمنية
+ * التحديث آمن من أي خيط ولا يستخدم أقفالاً؛ التسجيل بالاسم يتم مرة واحدة
+ * ويُحتفظ بالمرجع في حقل ثابت لاستخدامه في المسارات الساخنة.
+ */
+public final class Metrics {
+
+    private static final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, Gauge> gauges = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    private Metrics() {
+    }
+
+    public static Counter counter(String name) {
+        Counter counter = counters.get(name);
+        if (counter == null) {
+            Counter created = new Counter(name);
+            counter = counters.putIfAbsent(name, created);
+            if (counter == null) {
+                counter = created;
+            }
+        }
+        return counter;
+    }
+
+    public static Gauge gauge(String name) {
+        Gauge gauge = gauges.get(name);
+        if (gauge == null) {
+            Gauge created = new Gauge(name);
+            gauge = gauges.putIfAbsent(name, created);
+            if (gauge == null) {
+                gauge = created;
+            }
+        }
+        return gauge;
+    }
+
+    public static Histogram histogram(String name) {
+        Histogram histogram = histograms.get(name);
+        if (histogram == null) {
+            Histogram created = new Histogram(name);
+            histogram = histograms.putIfAbsent(name, created);
+            if (histogram == null) {
+                histogram = created;
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * لقطة لجميع المقاييس الحالية مرتبة بالاسم
+     */
+    public static Snapshot snapshot() {
+        Snapshot snapshot = new Snapshot();
+        for (Counter counter : counters.values()) {
+            snapshot.counters.add(new CounterValue(counter.name, counter.sum()));
+        }
+        for (Gauge gauge : gauges.values()) {
+            snapshot.gauges.add(new CounterValue(gauge.name, gauge.get()));
+        }
+        for (Histogram histogram : histograms.values()) {
+            snapshot.histograms.add(histogram.snapshot());
+        }
+        Collections.sort(snapshot.counters);
+        Collections.sort(snapshot.gauges);
+        Collections.sort(snapshot.histograms);
+        return snapshot;
+    }
+
+    /**
+     * عداد مقسم إلى شرائح (على غرار LongAdder غير المتاح قبل API 24)
+     * كل خيط يكتب في شريحة مختلفة غالباً فلا يتنافس مع غيره على نفس سطر الذاكرة
+     */
+    public static final class Counter {
+        private static final int STRIPES = 8;
+        private static final int STRIPE_MASK = STRIPES - 1;
+        // 8 قيم long = 64 بايت بين الشرائح لتفادي المشاركة الكاذبة في سطر الذاكرة
+        private static final int PADDING = 8;
+
+        private final String name;
+        private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PADDING);
+
+        Counter(String name) {
+            this.name = name;
+        }
+
+        public void increment() {
+            add(1);
+        }
+
+        public void add(long delta) {
+            int stripe = (int) (Thread.currentThread().getId() & STRIPE_MASK);
+            cells.addAndGet(stripe * PADDING, delta);
+        }
+
+        public long sum() {
+            long sum = 0;
+            for (int i = 0; i < STRIPES; i++) {
+                sum += cells.get(i * PADDING);
+            }
+            return sum;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * قيمة لحظية تُضبط أو تُعدّل من أي خيط
+     */
+    public static final class Gauge {
+        private final String name;
+        private final AtomicLong value = new AtomicLong();
+
+        Gauge(String name) {
+            this.name = name;
+        }
+
+        public void set(long newValue) {
+            value.set(newValue);
+        }
+
+        public void add(long delta) {
+            value.addAndGet(delta);
+        }
+
+        public long get() {
+            return value.get();
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * مدرج زمني لوغاريتمي-خطي بذاكرة ثابتة (496 خانة)
+     * كل قوة للعدد 2 مقسمة إلى 8 خانات خطية، أي دقة نسبية في حدود 12.5%
+     * القيم بالنانو ثانية
+     */
+    public static final class Histogram {
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+        private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+        private final String name;
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+        private final Counter sum;
+        private final AtomicLong max = new AtomicLong();
+
+        Histogram(String name) {
+            this.name = name;
+            this.sum = new Counter(name);
+        }
+
+        public void record(long valueNs) {
+            if (valueNs < 0) {
+                valueNs = 0;
+            }
+            buckets.incrementAndGet(bucketIndex(valueNs));
+            sum.add(valueNs);
+
+            long currentMax = max.get();
+            while (valueNs > currentMax && !max.compareAndSet(currentMax, valueNs)) {
+                currentMax = max.get();
+            }
+        }
+
+        /**
+         * تسجيل المدة منذ startNs (مثل القيمة التي يعيدها AppTrace.beginSection)
+         */
+        public void recordSince(long startNs) {
+            record(System.nanoTime() - startNs);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public HistogramValue snapshot() {
+            long[] copy = new long[BUCKET_COUNT];
+            long total = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                copy[i] = buckets.get(i);
+                total += copy[i];
+            }
+
+            HistogramValue value = new HistogramValue(name);
+            value.count = total;
+            value.sumNs = sum.sum();
+            value.maxNs = max.get();
+            value.p50Ns = percentile(copy, total, 0.50);
+            value.p90Ns = percentile(copy, total, 0.90);
+            value.p99Ns = percentile(copy, total, 0.99);
+            return value;
+        }
+
+        static int bucketIndex(long value) {
+            if (value < SUB_BUCKET_COUNT) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int subBucket = (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1));
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+        }
+
+        static long bucketLowerBound(int index) {
+            if (index < SUB_BUCKET_COUNT) {
+                return index;
+            }
+            int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+            long subBucket = index % SUB_BUCKET_COUNT;
+            return (1L << exponent) | (subBucket << (exponent - SUB_BUCKET_BITS));
+        }
+
+        private static long percentile(long[] counts, long total, double fraction) {
+            if (total == 0) {
+                return 0;
+            }
+            long target = (long) Math.ceil(total * fraction);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= target) {
+                    // الحد الأعلى للخانة حتى لا تُقدّر الأزمنة بأقل من حقيقتها
+                    return i + 1 < counts.length ? bucketLowerBound(i + 1) - 1 : Long.MAX_VALUE;
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+    }
+
+    public static final class CounterValue implements Comparable<CounterValue> {
+        public final String name;
+        public final long value;
+
+        CounterValue(String name, long value) {
+            this.name = name;
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo(CounterValue other) {
+            return name.compareTo(other.name);
+        }
+    }
+
+    public static final class HistogramValue implements Comparable<HistogramValue> {
+        public final String name;
+        public long count;
+        public long sumNs;
+        public long maxNs;
+        public long p50Ns;
+        public long p90Ns;
+        public long p99Ns;
+
+        HistogramValue(String name) {
+            this.name = name;
+        }
+
+        public long getMeanNs() {
+            return count == 0 ? 0 : sumNs / count;
+        }
+
+        @Override
+        public int compareTo(HistogramValue other) {
+            return name.compareTo(other.name);
+        }
+    }
+
+    /**
+     * لقطة للتقارير
+     */
+    public static final class Snapshot {
+        public final List<CounterValue> counters = new ArrayList<>();
+        public final List<CounterValue> gauges = new ArrayList<>();
+        public final List<HistogramValue> histograms = new ArrayList<>();
+
+        public void appendReport(StringBuilder report) {
+            for (CounterValue counter : counters) {
+                report.append(counter.name).append(": ").append(counter.value).append("\n");
+            }
+            for (CounterValue gauge : gauges) {
+                report.append(gauge.name).append(" = ").append(gauge.value).append("\n");
+            }
+            for (HistogramValue histogram : histograms) {
+                report.append(String.format(Locale.US,
+                        "%s: n=%d mean=%.2fms p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms\n",
+                        histogram.name, histogram.count,
+                        toMillis(histogram.getMeanNs()), toMillis(histogram.p50Ns),
+                        toMillis(histogram.p90Ns), toMillis(histogram.p99Ns),
+                        toMillis(histogram.maxNs)));
+            }
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
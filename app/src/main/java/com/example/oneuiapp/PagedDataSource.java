@@ -0,0 +1,249 @@
+package com.example.oneuiapp;
+
+import android.util.SparseArray;
+import android.util.SparseBooleanArray;
+
+/**
+ * مصدر بيانات مقسم إلى صفحات لقوائم كبيرة جداً
+ *
+ * لا يُحمّل شيء مسبقاً: عند طلب موضع تُحمّل صفحته على الخيط الخلفي ويُعاد null
+ * (عنصر نائب) حتى تصل. تُحمّل صفحات إضافية في اتجاه التمرير، ويبقى في الذاكرة عدد
+ * محدود من الصفحات حول آخر موضع مقروء، والأبعد يُحذف. كل الحالة تُقرأ وتُعدّل على
+ * الخيط الرئيسي فقط؛ الخيط الخلفي ينفذ PageLoader ثم يرسل النتيجة.
+ *
+ * نوع الصفحة P يحدده المستخدم (قائمة عناصر، أو كتلة أعمدة مثل ScrollListColumns)،
+ * والموضع داخل الصفحة يُحسب بـ pageOffset().
+ */
+public final class PagedDataSource<P> {
+
+    private static final String TAG = "PagedDataSource";
+
+    private static final Metrics.Counter PAGE_LOADS = Metrics.counter("paging.page_loads");
+    private static final Metrics.Counter PAGE_EVICTIONS = Metrics.counter("paging.evictions");
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    // الصفحات المحملة مسبقاً أمام اتجاه التمرير
+    private static final int PREFETCH_PAGES = 2;
+    // الحد الأقصى للصفحات في الذاكرة
+    private static final int MAX_RESIDENT_PAGES = 8;
+
+    /**
+     * يُنفذ على الخيط الخلفي. يجب أن تحتوي الصفحة count صفاً بالضبط، ولا تتغير بعد إرجاعها
+     */
+    public interface PageLoader<P> {
+        P loadPage(int startPosition, int count);
+    }
+
+    /**
+     * يُستدعى على الخيط الرئيسي بعد وصول صفحة حتى تعيد القائمة ربط مواضعها
+     */
+    public interface Callback {
+        void onRangeLoaded(int startPosition, int count);
+    }
+
+    private final PageLoader<P> loader;
+    private final int itemCount;
+    private final int pageSize;
+    private final SparseArray<Page<P>> pages = new SparseArray<>();
+    // الصفحات قيد التحميل لجيل البيانات الحالي (بدون Integer حتى لا يخصص مسار الربط)
+    private final SparseBooleanArray loading = new SparseBooleanArray();
+    private Callback callback;
+
+    // يزداد مع invalidate(): الصفحات الأقدم تُعرض حتى تصل بديلتها ثم تُستبدل
+    private int generation;
+    private int lastPage = -1;
+    private int direction = 1;
+    // تقرؤه مهام التحميل لتتخطى الصفحات التي ابتعد عنها المستخدم قبل بدئها
+    private volatile int focusPage;
+
+    public PagedDataSource(int itemCount, PageLoader<P> loader) {
+        this(itemCount, DEFAULT_PAGE_SIZE, loader);
+    }
+
+    public PagedDataSource(int itemCount, int pageSize, PageLoader<P> loader) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive: " + pageSize);
+        }
+        this.itemCount = Math.max(0, itemCount);
+        this.pageSize = pageSize;
+        this.loader = loader;
+    }
+
+    public void setCallback(Callback callback) {
+        this.callback = callback;
+    }
+
+    public int size() {
+        return itemCount;
+    }
+
+    /**
+     * @return صفحة الموضع إذا كانت في الذاكرة، وإلا null وتبدأ الصفحة في التحميل
+     */
+    public P getPage(int position) {
+        if (position < 0 || position >= itemCount) {
+            throw new IndexOutOfBoundsException("Index: " + position + ", Size: " + itemCount);
+        }
+        int pageIndex = position / pageSize;
+        onPageAccessed(pageIndex);
+
+        Page<P> page = pages.get(pageIndex);
+        return page != null ? page.data : null;
+    }
+
+    /**
+     * @return صفحة الموضع إن كانت محملة، دون طلب تحميل أو تغيير نافذة الصفحات (للنقرات مثلاً)
+     */
+    public P peekPage(int position) {
+        if (position < 0 || position >= itemCount) {
+            return null;
+        }
+        Page<P> page = pages.get(position / pageSize);
+        return page != null ? page.data : null;
+    }
+
+    /**
+     * موضع الصف داخل صفحته
+     */
+    public int pageOffset(int position) {
+        return position % pageSize;
+    }
+
+    /**
+     * إعادة تحميل البيانات (مثلاً بعد تغيير اللغة). الصفحات الحالية تبقى معروضة حتى
+     * تصل نسختها الجديدة، فلا تومض القائمة بعناصر نائبة.
+     */
+    public void invalidate() {
+        generation++;
+        loading.clear();
+        // كل الصفحات المقيمة (بحد أقصى MAX_RESIDENT_PAGES) قديمة الآن، ومنها ما هو ظاهر
+        for (int i = 0; i < pages.size(); i++) {
+            requestPage(pages.keyAt(i));
+        }
+        if (lastPage >= 0) {
+            requestWindow(lastPage);
+        }
+    }
+
+    private void onPageAccessed(int pageIndex) {
+        if (pageIndex != lastPage) {
+            if (lastPage >= 0) {
+                direction = pageIndex > lastPage ? 1 : -1;
+            }
+            lastPage = pageIndex;
+            focusPage = pageIndex;
+            requestWindow(pageIndex);
+            trimPages(pageIndex);
+        } else {
+            requestPage(pageIndex);
+        }
+    }
+
+    private void requestWindow(int pageIndex) {
+        requestPage(pageIndex);
+        for (int i = 1; i <= PREFETCH_PAGES; i++) {
+            requestPage(pageIndex + direction * i);
+        }
+    }
+
+    private void requestPage(final int pageIndex) {
+        if (pageIndex < 0 || pageIndex * pageSize >= itemCount) {
+            return;
+        }
+        Page<P> page = pages.get(pageIndex);
+        if ((page != null && page.generation == generation) || loading.get(pageIndex)) {
+            return;
+        }
+        loading.put(pageIndex, true);
+
+        final int requestGeneration = generation;
+        final int start = pageIndex * pageSize;
+        final int count = Math.min(pageSize, itemCount - start);
+        AppExecutors.background().execute(new Runnable() {
+            @Override
+            public void run() {
+                // المستخدم ابتعد عن هذه الصفحة قبل أن يبدأ تحميلها
+                if (Math.abs(pageIndex - focusPage) > MAX_RESIDENT_PAGES / 2) {
+                    AppExecutors.runOnMain(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (requestGeneration == generation) {
+                                loading.delete(pageIndex);
+                            }
+                        }
+                    });
+                    return;
+                }
+
+                long traceStart = AppTrace.beginSection("PagedDataSource.loadPage");
+                P data = null;
+                try {
+                    data = loader.loadPage(start, count);
+                    PAGE_LOADS.increment();
+                } catch (Exception e) {
+                    AppLog.e(TAG, "فشل تحميل الصفحة " + pageIndex, e);
+                } finally {
+                    AppTrace.endSection("PagedDataSource.loadPage", traceStart);
+                }
+
+                final P loaded = data;
+                AppExecutors.runOnMain(new Runnable() {
+                    @Override
+                    public void run() {
+                        onPageLoaded(pageIndex, requestGeneration, loaded);
+                    }
+                });
+            }
+        });
+    }
+
+    private void onPageLoaded(int pageIndex, int requestGeneration, P data) {
+        if (requestGeneration != generation) {
+            // نتيجة قديمة بعد invalidate()، الطلب الجديد سيصل بعدها
+            return;
+        }
+        loading.delete(pageIndex);
+        if (data == null) {
+            return;
+        }
+        if (Math.abs(pageIndex - lastPage) > MAX_RESIDENT_PAGES / 2) {
+            // وصلت بعد أن خرجت من النافذة، لا داعي للاحتفاظ بها
+            return;
+        }
+        pages.put(pageIndex, new Page<>(requestGeneration, data));
+        trimPages(lastPage);
+        if (callback != null) {
+            int start = pageIndex * pageSize;
+            callback.onRangeLoaded(start, Math.min(pageSize, itemCount - start));
+        }
+    }
+
+    /**
+     * حذف أبعد الصفحات عن الصفحة الحالية حتى يبقى العدد ضمن الحد
+     */
+    private void trimPages(int centerPage) {
+        while (pages.size() > MAX_RESIDENT_PAGES) {
+            int farthestIndex = 0;
+            int farthestDistance = -1;
+            for (int i = 0; i < pages.size(); i++) {
+                int distance = Math.abs(pages.keyAt(i) - centerPage);
+                if (distance > farthestDistance) {
+                    farthestDistance = distance;
+                    farthestIndex = i;
+                }
+            }
+            pages.removeAt(farthestIndex);
+            PAGE_EVICTIONS.increment();
+        }
+    }
+
+    private static final class Page<P> {
+        final int generation;
+        final P data;
+
+        Page(int generation, P data) {
+            this.generation = generation;
+            this.data = data;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.oneuiapp;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * قائمة ثابتة بمشاركة هيكلية (trie بعرض 32 مع ذيل)
+ *
+ * الإضافة في النهاية وتعديل عنصر ينسخان فقط المسار من الجذر إلى الورقة، أي O(log32 n)،
+ * وتتشارك اللقطة الجديدة كل بقية العُقد مع القديمة. لأن أي لقطة لا تتغير بعد إنشائها
+ * يمكن قراءتها من أي خيط (الربط، DiffUtil على الخيط الخلفي) دون أقفال أو نسخ دفاعية.
+ * الكاتب ينشر لقطة جديدة بإسناد واحد إلى حقل volatile.
+ */
+public final class PersistentVector<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+    private static final PersistentVector<Object> EMPTY =
+            new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+    // عدد البتات التي يُزاح بها الفهرس عند الجذر
+    private final int shift;
+    private final Object[] root;
+    // آخر 1..32 عنصر خارج الشجرة، حتى تكون الإضافة نسخ مصفوفة صغيرة في الغالب
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    /**
+     * بناء لقطة من مجموعة دفعة واحدة: تُقسم العناصر إلى أوراق وتُبنى المستويات من الأسفل
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> copyOf(Collection<? extends E> elements) {
+        if (elements instanceof PersistentVector) {
+            return (PersistentVector<E>) elements;
+        }
+        Object[] all = elements.toArray();
+        int count = all.length;
+        if (count == 0) {
+            return empty();
+        }
+
+        int tailOffset = tailOffset(count);
+        Object[] tail = Arrays.copyOfRange(all, tailOffset, count);
+
+        List<Object[]> nodes = new ArrayList<>(tailOffset / WIDTH);
+        for (int i = 0; i < tailOffset; i += WIDTH) {
+            nodes.add(Arrays.copyOfRange(all, i, i + WIDTH));
+        }
+        int shift = BITS;
+        while (nodes.size() > WIDTH) {
+            List<Object[]> parents = new ArrayList<>((nodes.size() + MASK) / WIDTH);
+            for (int i = 0; i < nodes.size(); i += WIDTH) {
+                Object[] parent = new Object[WIDTH];
+                int end = Math.min(i + WIDTH, nodes.size());
+                for (int j = i; j < end; j++) {
+                    parent[j - i] = nodes.get(j);
+                }
+                parents.add(parent);
+            }
+            nodes = parents;
+            shift += BITS;
+        }
+        Object[] root = new Object[WIDTH];
+        for (int i = 0; i < nodes.size(); i++) {
+            root[i] = nodes.get(i);
+        }
+        return new PersistentVector<>(count, shift, root, tail);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index);
+        return (E) leafFor(index)[index & MASK];
+    }
+
+    /**
+     * @return لقطة جديدة فيها العنصر مضافاً في النهاية، اللقطة الحالية لا تتغير
+     */
+    public PersistentVector<E> plus(E element) {
+        if (size - tailOffset(size) < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = element;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+
+        // الذيل ممتلئ: يُنقل إلى الشجرة ويبدأ ذيل جديد
+        Object[] newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            // الجذر ممتلئ، نضيف مستوى
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tail);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[]{element});
+    }
+
+    public PersistentVector<E> plusAll(Collection<? extends E> elements) {
+        PersistentVector<E> result = this;
+        for (E element : elements) {
+            result = result.plus(element);
+        }
+        return result;
+    }
+
+    /**
+     * @return لقطة جديدة فيها العنصر في الموضع المعطى مستبدلاً
+     */
+    public PersistentVector<E> with(int index, E element) {
+        checkIndex(index);
+        if (index >= tailOffset(size)) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = element;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, assoc(shift, root, index, element), tail);
+    }
+
+    /**
+     * الحذف من الوسط يزيح كل ما بعده، فيُعاد البناء بالكامل O(n). نادر في هذا التطبيق
+     */
+    public PersistentVector<E> minus(int index) {
+        checkIndex(index);
+        if (index == size - 1 && size - tailOffset(size) > 1) {
+            return new PersistentVector<>(size - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+        }
+        List<E> copy = new ArrayList<>(this);
+        copy.remove(index);
+        return copyOf(copy);
+    }
+
+    private static int tailOffset(int count) {
+        return count < WIDTH ? 0 : ((count - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] leafFor(int index) {
+        if (index >= tailOffset(size)) {
+            return tail;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    private Object[] pushTail(int level, Object[] parent, Object[] tailNode) {
+        int subIndex = ((size - 1) >>> level) & MASK;
+        Object[] result = parent.clone();
+        Object[] nodeToInsert;
+        if (level == BITS) {
+            nodeToInsert = tailNode;
+        } else {
+            Object[] child = (Object[]) parent[subIndex];
+            nodeToInsert = child != null
+                    ? pushTail(level - BITS, child, tailNode)
+                    : newPath(level - BITS, tailNode);
+        }
+        result[subIndex] = nodeToInsert;
+        return result;
+    }
+
+    private static Object[] newPath(int level, Object[] node) {
+        if (level == 0) {
+            return node;
+        }
+        Object[] result = new Object[WIDTH];
+        result[0] = newPath(level - BITS, node);
+        return result;
+    }
+
+    private static Object[] assoc(int level, Object[] node, int index, Object element) {
+        Object[] result = node.clone();
+        if (level == 0) {
+            result[index & MASK] = element;
+        } else {
+            int subIndex = (index >>> level) & MASK;
+            result[subIndex] = assoc(level - BITS, (Object[]) node[subIndex], index, element);
+        }
+        return result;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
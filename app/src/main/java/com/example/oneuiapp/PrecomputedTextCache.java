@@ -0,0 +1,92 @@
+package com.example.oneuiapp;
+
+import android.text.TextUtils;
+import android.util.LruCache;
+import android.widget.TextView;
+
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.widget.TextViewCompat;
+
+/**
+ * ذاكرة نصوص محسوبة مسبقاً (قياس، تقطيع أسطر، تشكيل عربي واتجاه) لنوع واحد من TextView
+ *
+ * تُحسب النصوص على خيط خلفي أثناء تحميل الصفحات أو قبل وصول التمرير إليها، ثم يضعها
+ * الربط مباشرة دون أي قياس على الخيط الرئيسي. كل ذاكرة مرتبطة بمعاملات القياس
+ * (الخط، الحجم، اللغة، الاتجاه) المأخوذة من TextView حقيقي؛ إذا تغيرت المعاملات
+ * أو استُدعي invalidate() تُفرغ الذاكرة.
+ */
+public final class PrecomputedTextCache {
+
+    private static final String TAG = "PrecomputedTextCache";
+
+    private static final Metrics.Counter HITS = Metrics.counter("text.precomputed_hits");
+    private static final Metrics.Counter MISSES = Metrics.counter("text.precomputed_misses");
+
+    private final LruCache<String, PrecomputedTextCompat> cache;
+    // null حتى يُربط أول TextView، ولا يُحسب شيء قبل ذلك
+    private volatile PrecomputedTextCompat.Params params;
+
+    public PrecomputedTextCache(int maxEntries) {
+        cache = new LruCache<>(maxEntries);
+    }
+
+    /**
+     * أخذ معاملات القياس من TextView بعد تضخيمه. يُستدعى على الخيط الرئيسي
+     */
+    public void attach(TextView view) {
+        PrecomputedTextCompat.Params viewParams = TextViewCompat.getTextMetricsParams(view);
+        if (!viewParams.equals(params)) {
+            params = viewParams;
+            cache.evictAll();
+        }
+    }
+
+    /**
+     * عند تغيير اللغة أو حجم الخط أو المظهر. المعاملات تُقرأ من جديد عند أول ربط
+     */
+    public void invalidate() {
+        params = null;
+        cache.evictAll();
+    }
+
+    /**
+     * حساب النص وحفظه. آمن من أي خيط، ومخصص للخيوط الخلفية
+     */
+    public void precompute(String text) {
+        PrecomputedTextCompat.Params currentParams = params;
+        if (currentParams == null || TextUtils.isEmpty(text) || cache.get(text) != null) {
+            return;
+        }
+        try {
+            PrecomputedTextCompat precomputed = PrecomputedTextCompat.create(text, currentParams);
+            // المعاملات تغيرت أثناء الحساب، النتيجة لم تعد صالحة
+            if (currentParams == params) {
+                cache.put(text, precomputed);
+            }
+        } catch (Exception e) {
+            AppLog.w(TAG, "فشل حساب النص مسبقاً", e);
+        }
+    }
+
+    /**
+     * وضع النص في TextView، محسوباً إن وُجد في الذاكرة وإلا كنص عادي
+     */
+    public void bind(TextView view, String text) {
+        if (params == null) {
+            attach(view);
+        }
+        PrecomputedTextCompat precomputed = TextUtils.isEmpty(text) ? null : cache.get(text);
+        if (precomputed != null) {
+            try {
+                TextViewCompat.setPrecomputedText(view, precomputed);
+                HITS.increment();
+                return;
+            } catch (IllegalArgumentException e) {
+                // معاملات TextView لم تعد مطابقة (مثلاً تغير حجم الخط)
+                cache.evictAll();
+            }
+        }
+        MISSES.increment();
+        view.setText(text);
+    }
+}
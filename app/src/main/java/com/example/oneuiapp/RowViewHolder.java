@@ -0,0 +1,219 @@
+package com.example.oneuiapp;
+
+import android.text.TextUtils;
+import android.view.MotionEvent;
+import android.view.View;
+import android.widget.CheckBox;
+import android.widget.ImageView;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Holder for list_item rows, shared by every adapter that shows them.
+ *
+ * It keeps no reference to the adapter that created it: anything adapter-specific
+ * (text caches, click handling) is passed in at bind time. That lets rows move between
+ * lists through RowViewPool and outlive the activity that first inflated them.
+ */
+public final class RowViewHolder extends RecyclerView.ViewHolder {
+
+    public interface OnRowClickListener {
+        void onRowClick(RowViewHolder holder);
+
+        /**
+         * @return true if the long click was handled
+         */
+        boolean onRowLongClick(RowViewHolder holder);
+    }
+
+    public interface OnStartDragListener {
+        void onStartDrag(RowViewHolder holder);
+    }
+
+    private final ImageView iconImageView;
+    private final TextView titleTextView;
+    private final TextView descriptionTextView;
+    private final ImageView chevronImageView;
+    private final CheckBox selectionCheckBox;
+    private final ImageView dragHandleImageView;
+    // What the views currently show, to skip redundant view updates
+    private String boundTitle;
+    private String boundDescription;
+    private int boundIconResource;
+    private boolean rowEnabled = true;
+    private boolean selectionMode;
+    // Bound with bindSkeleton() and still waiting for its full detail
+    private boolean skeleton;
+    // Set by the adapter on bind and cleared when the row is recycled
+    private OnRowClickListener rowClickListener;
+    private OnStartDragListener startDragListener;
+
+    public RowViewHolder(@NonNull View itemView) {
+        super(itemView);
+        iconImageView = itemView.findViewById(R.id.main_item_icon);
+        titleTextView = itemView.findViewById(R.id.main_item_title);
+        descriptionTextView = itemView.findViewById(R.id.main_item_description);
+        chevronImageView = itemView.findViewById(R.id.main_item_chevron);
+        selectionCheckBox = itemView.findViewById(R.id.main_item_checkbox);
+        dragHandleImageView = itemView.findViewById(R.id.main_item_drag_handle);
+
+        itemView.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                if (rowClickListener != null && getAdapterPosition() != RecyclerView.NO_POSITION) {
+                    rowClickListener.onRowClick(RowViewHolder.this);
+                }
+            }
+        });
+        itemView.setOnLongClickListener(new View.OnLongClickListener() {
+            @Override
+            public boolean onLongClick(View v) {
+                return rowClickListener != null && getAdapterPosition() != RecyclerView.NO_POSITION
+                        && rowClickListener.onRowLongClick(RowViewHolder.this);
+            }
+        });
+        // Touching the handle starts the drag at once; long press stays free for selection
+        dragHandleImageView.setOnTouchListener(new View.OnTouchListener() {
+            @Override
+            public boolean onTouch(View v, MotionEvent event) {
+                if (event.getActionMasked() == MotionEvent.ACTION_DOWN && startDragListener != null
+                        && getAdapterPosition() != RecyclerView.NO_POSITION) {
+                    startDragListener.onStartDrag(RowViewHolder.this);
+                    return true;
+                }
+                return false;
+            }
+        });
+    }
+
+    TextView getTitleView() {
+        return titleTextView;
+    }
+
+    TextView getDescriptionView() {
+        return descriptionTextView;
+    }
+
+    void setOnRowClickListener(OnRowClickListener listener) {
+        rowClickListener = listener;
+    }
+
+    /**
+     * The drag handle is shown only while a listener is set
+     */
+    void setOnStartDragListener(OnStartDragListener listener) {
+        startDragListener = listener;
+        int visibility = listener != null ? View.VISIBLE : View.GONE;
+        if (dragHandleImageView.getVisibility() != visibility) {
+            dragHandleImageView.setVisibility(visibility);
+        }
+    }
+
+    // Each setter skips the view call when the row shows the same value already,
+    // so rebinding an unchanged row allocates nothing and triggers no relayout
+
+    void setTitle(PrecomputedTextCache layouts, String title, String contentDescription) {
+        if (TextUtils.equals(title, boundTitle)) {
+            return;
+        }
+        boundTitle = title;
+        layouts.bind(titleTextView, title);
+        itemView.setContentDescription(contentDescription);
+    }
+
+    void setDescription(PrecomputedTextCache layouts, String description) {
+        if (description != null && !description.isEmpty()) {
+            if (!TextUtils.equals(description, boundDescription)) {
+                boundDescription = description;
+                layouts.bind(descriptionTextView, description);
+            }
+            descriptionTextView.setVisibility(View.VISIBLE);
+        } else {
+            descriptionTextView.setVisibility(View.GONE);
+        }
+    }
+
+    void setIcon(int iconResource) {
+        if (iconResource != 0) {
+            if (iconResource != boundIconResource) {
+                boundIconResource = iconResource;
+                DrawableCache.getInstance().setImage(iconImageView, iconResource);
+            }
+            iconImageView.setVisibility(View.VISIBLE);
+        } else {
+            iconImageView.setVisibility(View.GONE);
+        }
+    }
+
+    void setChevronVisible(boolean visible) {
+        chevronImageView.setVisibility(visible ? View.VISIBLE : View.GONE);
+    }
+
+    void setRowEnabled(boolean enabled) {
+        rowEnabled = enabled;
+        // Disabled rows stay clickable in selection mode so they can be selected and re-enabled
+        itemView.setEnabled(enabled || selectionMode);
+        itemView.setAlpha(enabled ? 1.0f : 0.6f);
+    }
+
+    /**
+     * Checkbox shown only in selection mode. Touches nothing else in the row, so
+     * selection changes rebind with a payload instead of a full bind.
+     */
+    void setSelectionState(boolean selectionMode, boolean selected) {
+        if (this.selectionMode != selectionMode) {
+            this.selectionMode = selectionMode;
+            itemView.setEnabled(rowEnabled || selectionMode);
+        }
+        int visibility = selectionMode ? View.VISIBLE : View.GONE;
+        if (selectionCheckBox.getVisibility() != visibility) {
+            selectionCheckBox.setVisibility(visibility);
+        }
+        if (selectionCheckBox.isChecked() != selected) {
+            selectionCheckBox.setChecked(selected);
+        }
+        // Announced by accessibility services as the row's selected state
+        itemView.setSelected(selectionMode && selected);
+    }
+
+    boolean isSkeleton() {
+        return skeleton;
+    }
+
+    void clearSkeleton() {
+        skeleton = false;
+    }
+
+    /**
+     * Cheap bind used while flinging: title only. The icon and description are hidden
+     * but keep their space, so the row height does not jump when full detail follows.
+     */
+    void bindSkeleton(PrecomputedTextCache titleLayouts, String title, String contentDescription) {
+        skeleton = true;
+        setTitle(titleLayouts, title, contentDescription);
+        iconImageView.setVisibility(View.INVISIBLE);
+        descriptionTextView.setVisibility(View.INVISIBLE);
+    }
+
+    /**
+     * Row whose data is still loading: keep the height, show nothing
+     */
+    void bindPlaceholder() {
+        skeleton = false;
+        boundTitle = null;
+        boundDescription = null;
+        boundIconResource = 0;
+        titleTextView.setText(null);
+        descriptionTextView.setText(null);
+        descriptionTextView.setVisibility(View.VISIBLE);
+        iconImageView.setImageDrawable(null);
+        iconImageView.setVisibility(View.VISIBLE);
+        chevronImageView.setVisibility(View.GONE);
+        itemView.setContentDescription(null);
+        rowEnabled = false;
+        itemView.setEnabled(false);
+        itemView.setAlpha(1.0f);
+    }
+}
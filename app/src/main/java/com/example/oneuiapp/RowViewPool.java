@@ -0,0 +1,256 @@
+package com.example.oneuiapp;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.content.res.Configuration;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.util.AttributeSet;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.app.AppCompatDelegate;
+import androidx.appcompat.view.ContextThemeWrapper;
+import androidx.core.view.LayoutInflaterCompat;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.Locale;
+
+/**
+ * مخزن صفوف list_item مشترك على مستوى التطبيق
+ *
+ * كل القوائم التي تعرض RowViewHolder تستخدم نفس RecycledViewPool، فالصفوف التي
+ * تتركها شاشة تُعاد في الشاشة التالية أو بعد إعادة إنشاء النشاط بدل تضخيمها من جديد.
+ * الصفوف تُضخم بسياق التطبيق مع مظهر OneUITheme وإعدادات اللغة والوضع الليلي الحالية،
+ * لا بسياق النشاط، فلا يبقي المخزن أي نشاط حياً. عند تغير هذه الإعدادات يُفرغ المخزن.
+ * كل صف يحمل رقم الإعدادات التي ضُخم بها، والمخزن يرفض الصفوف الأقدم حين تعيدها
+ * شاشة أخرى في المكدس لم تُعد بناء قائمتها بعد.
+ * لكن إنشاء العناصر نفسها يمر عبر AppCompatDelegate للنشاط الذي يطلب الصف، كما يفعل
+ * مضخم النشاط، فتُستبدل TextView و CheckBox وغيرها بنسخ AppCompat/SESL. المفوض يُستخدم
+ * أثناء التضخيم فقط والعناصر تأخذ سياق الصفوف، فلا يُحفظ النشاط فيها.
+ *
+ * عند خمول الخيط الرئيسي بعد بدء التشغيل تُضخم صفوف إضافية، صف واحد في كل مرة خمول،
+ * وتُحفظ جاهزة، فلا يدفع فتح شاشة القائمة وأول سحب فيها ثمن التضخيم.
+ * يُستخدم من الخيط الرئيسي فقط.
+ */
+public final class RowViewPool {
+
+    private static final String TAG = "RowViewPool";
+
+    public static final int VIEW_TYPE_ROW = R.layout.list_item;
+
+    // شاشة كاملة من الصفوف (72dp) مع هامش لأول سحب
+    private static final int PREINFLATE_ROWS = 16;
+    // الحد الافتراضي (5) أصغر من أن يخدم قائمتين
+    private static final int MAX_POOLED_ROWS = 24;
+
+    private static final Metrics.Counter PREINFLATED = Metrics.counter("rows.preinflated");
+    private static final Metrics.Counter INFLATED = Metrics.counter("rows.inflated");
+
+    private static RowViewPool instance;
+
+    private final Context appContext;
+    private final RecyclerView.RecycledViewPool pool = new RecyclerView.RecycledViewPool() {
+        @Override
+        public void putRecycledView(RecyclerView.ViewHolder scrap) {
+            // شاشة أخرى في المكدس قد تعيد صفوفاً ضُخمت قبل آخر تغيير في الإعدادات: تُهمل
+            // بدل أن تُسلم لقائمة بالإعدادات الجديدة
+            Object rowGeneration = scrap.itemView.getTag(R.id.row_pool_generation);
+            if (rowGeneration instanceof Integer && (Integer) rowGeneration == generation) {
+                super.putRecycledView(scrap);
+            }
+        }
+    };
+    // صفوف مضخمة مسبقاً لم تُسلم لأي محول بعد
+    private final ArrayDeque<View> preinflated = new ArrayDeque<>();
+
+    // الإعدادات التي ضُخمت بها الصفوف الحالية
+    private String rowLanguage;
+    private int rowNightMode;
+    private float rowFontScale;
+    private int rowDensityDpi;
+    private Context rowContext;
+    private LayoutInflater rowInflater;
+    // يزيد مع كل سياق صفوف جديد؛ كل صف يحمل رقم السياق الذي ضُخم به
+    private int generation;
+    // مفوض النشاط الذي يُضخم له الآن، null خارج التضخيم
+    private AppCompatDelegate inflatingDelegate;
+    private boolean pending;
+
+    private RowViewPool(Context context) {
+        appContext = context.getApplicationContext();
+        pool.setMaxRecycledViews(VIEW_TYPE_ROW, MAX_POOLED_ROWS);
+    }
+
+    public static RowViewPool getInstance(Context context) {
+        if (instance == null) {
+            instance = new RowViewPool(context);
+        }
+        return instance;
+    }
+
+    /**
+     * المخزن المشترك، يُمرر إلى RecyclerView.setRecycledViewPool
+     */
+    public RecyclerView.RecycledViewPool getPool() {
+        return pool;
+    }
+
+    /**
+     * صف جاهز للمحول: مضخم مسبقاً إن وُجد، وإلا يُضخم الآن بسياق الصفوف
+     */
+    @NonNull
+    public View inflateRow(@NonNull ViewGroup parent) {
+        updateRowContext(parent.getContext());
+        View row = preinflated.poll();
+        if (row != null) {
+            // الصفوف المسبقة ضُخمت بلا أب، فتُضبط أبعاد جذر list_item هنا
+            row.setLayoutParams(new RecyclerView.LayoutParams(
+                    ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+            return row;
+        }
+        INFLATED.increment();
+        return inflateWith(parent.getContext(), VIEW_TYPE_ROW, parent);
+    }
+
+    /**
+     * تضخيم نوع صف آخر يدخل نفس المخزن (رؤوس الأقسام مثلاً)، بنفس سياق الصفوف
+     */
+    @NonNull
+    public View inflate(@NonNull ViewGroup parent, int layoutRes) {
+        if (layoutRes == VIEW_TYPE_ROW) {
+            return inflateRow(parent);
+        }
+        updateRowContext(parent.getContext());
+        return inflateWith(parent.getContext(), layoutRes, parent);
+    }
+
+    /**
+     * تضخيم صفوف احتياطية عند خمول الخيط الرئيسي. النشاط يُحفظ بمرجع ضعيف لاستعارة
+     * مفوضه أثناء التضخيم فقط.
+     */
+    public void preinflateOnIdle(Context activityContext) {
+        updateRowContext(activityContext);
+        if (pending) {
+            return;
+        }
+        pending = true;
+        final WeakReference<Context> sourceRef = new WeakReference<>(activityContext);
+        Looper.myQueue().addIdleHandler(new MessageQueue.IdleHandler() {
+            @Override
+            public boolean queueIdle() {
+                // صف واحد في كل خمول فلا يتأخر أي إطار بتضخيم الدفعة كلها
+                boolean more = preinflateOne(sourceRef.get());
+                pending = more;
+                return more;
+            }
+        });
+    }
+
+    /**
+     * إهمال كل الصفوف المخزنة، مثلاً بعد تغيير المظهر في مكانه. الصفوف المعروضة الآن
+     * في أي شاشة لا تعود إلى المخزن بعد ذلك.
+     */
+    public void clear() {
+        pool.clear();
+        preinflated.clear();
+        generation++;
+    }
+
+    /**
+     * @return true إن بقيت صفوف ناقصة
+     */
+    private boolean preinflateOne(@Nullable Context source) {
+        if (source == null || preinflated.size() + pool.getRecycledViewCount(VIEW_TYPE_ROW) >= PREINFLATE_ROWS) {
+            return false;
+        }
+        updateRowContext(source);
+        preinflated.add(inflateWith(source, VIEW_TYPE_ROW, null));
+        PREINFLATED.increment();
+        if (preinflated.size() + pool.getRecycledViewCount(VIEW_TYPE_ROW) >= PREINFLATE_ROWS) {
+            AppLog.d(TAG, "اكتمل تضخيم {} صف مسبقاً", preinflated.size());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * تضخيم بسياق الصفوف مع استعارة مفوض AppCompat من النشاط الذي يملك source
+     */
+    private View inflateWith(Context source, int layoutRes, @Nullable ViewGroup parent) {
+        inflatingDelegate = findDelegate(source);
+        try {
+            View view = rowInflater.inflate(layoutRes, parent, false);
+            view.setTag(R.id.row_pool_generation, generation);
+            return view;
+        } finally {
+            inflatingDelegate = null;
+        }
+    }
+
+    @Nullable
+    private static AppCompatDelegate findDelegate(Context context) {
+        while (context instanceof ContextWrapper) {
+            if (context instanceof AppCompatActivity) {
+                return ((AppCompatActivity) context).getDelegate();
+            }
+            context = ((ContextWrapper) context).getBaseContext();
+        }
+        return null;
+    }
+
+    /**
+     * بناء سياق الصفوف من لغة التطبيق وإعدادات العرض للنشاط، وإفراغ المخزن إن تغيرت.
+     * اللغة تُقرأ من LanguageManager لأن تغيير اللغة في المكان لا يغير إعدادات النشاط.
+     */
+    private void updateRowContext(Context source) {
+        Configuration sourceConfiguration = source.getResources().getConfiguration();
+        String language = LanguageManager.getInstance(appContext).getCurrentLanguage();
+        int nightMode = sourceConfiguration.uiMode & Configuration.UI_MODE_NIGHT_MASK;
+        if (rowContext != null
+                && language.equals(rowLanguage)
+                && nightMode == rowNightMode
+                && sourceConfiguration.fontScale == rowFontScale
+                && sourceConfiguration.densityDpi == rowDensityDpi) {
+            return;
+        }
+        if (rowContext != null) {
+            AppLog.d(TAG, "تغيرت إعدادات الصفوف، إفراغ المخزن");
+            clear();
+        }
+        rowLanguage = language;
+        rowNightMode = nightMode;
+        rowFontScale = sourceConfiguration.fontScale;
+        rowDensityDpi = sourceConfiguration.densityDpi;
+
+        Configuration configuration = new Configuration(appContext.getResources().getConfiguration());
+        Locale locale = new Locale(language);
+        configuration.setLocale(locale);
+        configuration.setLayoutDirection(locale);
+        configuration.uiMode = (configuration.uiMode & ~Configuration.UI_MODE_NIGHT_MASK) | nightMode;
+        configuration.fontScale = rowFontScale;
+        configuration.densityDpi = rowDensityDpi;
+        rowContext = new ContextThemeWrapper(appContext.createConfigurationContext(configuration), R.style.OneUITheme);
+        rowInflater = LayoutInflater.from(rowContext).cloneInContext(rowContext);
+        LayoutInflaterCompat.setFactory2(rowInflater, new LayoutInflater.Factory2() {
+            @Override
+            public View onCreateView(@Nullable View parent, @NonNull String name,
+                                     @NonNull Context context, @NonNull AttributeSet attrs) {
+                // بلا نشاط يبقى التضخيم العادي
+                AppCompatDelegate delegate = inflatingDelegate;
+                return delegate != null ? delegate.createView(parent, name, context, attrs) : null;
+            }
+
+            @Override
+            public View onCreateView(@NonNull String name, @NonNull Context context, @NonNull AttributeSet attrs) {
+                return onCreateView(null, name, context, attrs);
+            }
+        });
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.oneuiapp;
+
+import android.os.Debug;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * قياس الذاكرة وجمع المهملات لكل شاشة
+ * تؤخذ عينة عند الدخول وعند الخروج وبشكل دوري أثناء ظهور الشاشة،
+ * وتُجمع الفروقات لكل شاشة لعرضها مع إحصائيات سجل الأخطاء.
+ */
+public class ScreenTelemetry {
+
+    private static final long SAMPLE_INTERVAL_MS = 5000;
+
+    private static final ConcurrentHashMap<String, ScreenStats> statsByScreen = new ConcurrentHashMap<>();
+
+    private static final Metrics.Gauge JAVA_HEAP_USED = Metrics.gauge("memory.java_heap_used");
+    private static final Metrics.Gauge NATIVE_HEAP_USED = Metrics.gauge("memory.native_heap_used");
+
+    private final String screenName;
+    private final ScreenStats stats;
+    private MemorySample enterSample;
+    private boolean sampling = false;
+
+    private final Runnable periodicSample = new Runnable() {
+        @Override
+        public void run() {
+            stats.recordPeak(MemorySample.capture());
+            if (sampling) {
+                AppExecutors.mainHandler().postDelayed(this, SAMPLE_INTERVAL_MS);
+            }
+        }
+    };
+
+    public ScreenTelemetry(String screenName) {
+        this.screenName = screenName;
+        ScreenStats created = new ScreenStats(screenName);
+        ScreenStats existing = statsByScreen.putIfAbsent(screenName, created);
+        this.stats = existing != null ? existing : created;
+    }
+
+    /**
+     * يُستدعى من onCreate
+     */
+    public void onEnter() {
+        enterSample = MemorySample.capture();
+        stats.recordEnter(enterSample);
+    }
+
+    /**
+     * يُستدعى من onResume لبدء العينات الدورية
+     */
+    public void startSampling() {
+        if (!sampling) {
+            sampling = true;
+            AppExecutors.mainHandler().post(periodicSample);
+        }
+    }
+
+    /**
+     * يُستدعى من onPause
+     */
+    public void stopSampling() {
+        sampling = false;
+        AppExecutors.mainHandler().removeCallbacks(periodicSample);
+    }
+
+    /**
+     * يُستدعى من onDestroy
+     */
+    public void onExit() {
+        stopSampling();
+        if (enterSample != null) {
+            stats.recordExit(enterSample, MemorySample.capture());
+            enterSample = null;
+        }
+    }
+
+    public String getScreenName() {
+        return screenName;
+    }
+
+    /**
+     * إلحاق ملخص جميع الشاشات بالتقرير
+     */
+    public static void appendReport(StringBuilder report) {
+        List<String> names = new ArrayList<>(statsByScreen.keySet());
+        Collections.sort(names);
+        for (String name : names) {
+            statsByScreen.get(name).appendTo(report);
+        }
+    }
+
+    /**
+     * عينة واحدة من حالة الذاكرة وجمع المهملات
+     */
+    public static final class MemorySample {
+        public final long javaHeapUsed;
+        public final long nativeHeapAllocated;
+        public final long gcCount;
+        public final long gcTimeMs;
+        public final long blockingGcCount;
+        public final long blockingGcTimeMs;
+
+        private MemorySample(long javaHeapUsed, long nativeHeapAllocated, long gcCount,
+                             long gcTimeMs, long blockingGcCount, long blockingGcTimeMs) {
+            this.javaHeapUsed = javaHeapUsed;
+            this.nativeHeapAllocated = nativeHeapAllocated;
+            this.gcCount = gcCount;
+            this.gcTimeMs = gcTimeMs;
+            this.blockingGcCount = blockingGcCount;
+            this.blockingGcTimeMs = blockingGcTimeMs;
+        }
+
+        public static MemorySample capture() {
+            Runtime runtime = Runtime.getRuntime();
+            MemorySample sample = new MemorySample(
+                    runtime.totalMemory() - runtime.freeMemory(),
+                    Debug.getNativeHeapAllocatedSize(),
+                    readRuntimeStat("art.gc.gc-count"),
+                    readRuntimeStat("art.gc.gc-time"),
+                    readRuntimeStat("art.gc.blocking-gc-count"),
+                    readRuntimeStat("art.gc.blocking-gc-time"));
+            JAVA_HEAP_USED.set(sample.javaHeapUsed);
+            NATIVE_HEAP_USED.set(sample.nativeHeapAllocated);
+            return sample;
+        }
+
+        private static long readRuntimeStat(String name) {
+            try {
+                String value = Debug.getRuntimeStat(name);
+                return value != null ? Long.parseLong(value) : 0;
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * إحصائيات مجمعة لشاشة واحدة
+     */
+    private static final class ScreenStats {
+        private final String name;
+        private int visits;
+        private int exits;
+        private long firstEnterJavaHeap = -1;
+        private long lastEnterJavaHeap;
+        private long peakJavaHeap;
+        private long peakNativeHeap;
+        private long totalJavaHeapDelta;
+        private long totalNativeHeapDelta;
+        private long totalGcCount;
+        private long totalGcTimeMs;
+        private long totalBlockingGcCount;
+        private long totalBlockingGcTimeMs;
+
+        ScreenStats(String name) {
+            this.name = name;
+        }
+
+        synchronized void recordEnter(MemorySample sample) {
+            visits++;
+            if (firstEnterJavaHeap < 0) {
+                firstEnterJavaHeap = sample.javaHeapUsed;
+            }
+            lastEnterJavaHeap = sample.javaHeapUsed;
+            recordPeak(sample);
+        }
+
+        synchronized void recordPeak(MemorySample sample) {
+            peakJavaHeap = Math.max(peakJavaHeap, sample.javaHeapUsed);
+            peakNativeHeap = Math.max(peakNativeHeap, sample.nativeHeapAllocated);
+        }
+
+        synchronized void recordExit(MemorySample enter, MemorySample exit) {
+            exits++;
+            recordPeak(exit);
+            totalJavaHeapDelta += exit.javaHeapUsed - enter.javaHeapUsed;
+            totalNativeHeapDelta += exit.nativeHeapAllocated - enter.nativeHeapAllocated;
+            totalGcCount += exit.gcCount - enter.gcCount;
+            totalGcTimeMs += exit.gcTimeMs - enter.gcTimeMs;
+            totalBlockingGcCount += exit.blockingGcCount - enter.blockingGcCount;
+            totalBlockingGcTimeMs += exit.blockingGcTimeMs - enter.blockingGcTimeMs;
+        }
+
+        synchronized void appendTo(StringBuilder report) {
+            report.append(name).append(": زيارات=").append(visits).append("\n");
+            report.append("  ذروة Java heap: ").append(formatKb(peakJavaHeap))
+                    .append(" | ذروة Native heap: ").append(formatKb(peakNativeHeap)).append("\n");
+            // نمو الذاكرة عند الدخول عبر الزيارات يشير إلى تسرب بعد recreate()
+            report.append("  Java heap عند الدخول: أول=").append(formatKb(firstEnterJavaHeap))
+                    .append(" آخر=").append(formatKb(lastEnterJavaHeap)).append("\n");
+            if (exits > 0) {
+                report.append("  متوسط الفرق لكل زيارة: Java=").append(formatKb(totalJavaHeapDelta / exits))
+                        .append(" Native=").append(formatKb(totalNativeHeapDelta / exits)).append("\n");
+                report.append("  GC: ").append(totalGcCount).append(" مرة / ").append(totalGcTimeMs)
+                        .append("ms (حاجبة: ").append(totalBlockingGcCount).append(" / ")
+                        .append(totalBlockingGcTimeMs).append("ms)\n");
+            }
+        }
+
+        private static String formatKb(long bytes) {
+            return String.format(Locale.US, "%.1fKB", bytes / 1024.0);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.oneuiapp;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Decides from scroll state and velocity how much detail list rows should bind.
+ *
+ * A fling faster than the enter threshold switches to low detail: rows bind a cheap
+ * skeleton and background work for rows that will only fly past is skipped. Full detail
+ * comes back once the fling slows below the (lower) exit threshold or the list stops.
+ * Dragging never lowers detail, since the user is reading what is under the finger.
+ */
+public final class ScrollGovernor extends RecyclerView.OnScrollListener {
+
+    private static final Metrics.Counter LOW_DETAIL_FLINGS = Metrics.counter("scroll.low_detail_flings");
+
+    // Thresholds in dp per second; the gap between them keeps the mode from flickering
+    private static final float ENTER_LOW_DETAIL_DP_PER_SECOND = 3000f;
+    private static final float EXIT_LOW_DETAIL_DP_PER_SECOND = 1000f;
+
+    public interface Listener {
+        /**
+         * Called on the main thread when the detail level changes
+         */
+        void onDetailLevelChanged(boolean lowDetail);
+    }
+
+    private final Listener listener;
+    private final float enterPxPerSecond;
+    private final float exitPxPerSecond;
+    private int scrollState = RecyclerView.SCROLL_STATE_IDLE;
+    private long lastScrollTime;
+    private boolean lowDetail;
+
+    public ScrollGovernor(@NonNull RecyclerView recyclerView, @NonNull Listener listener) {
+        this.listener = listener;
+        float density = recyclerView.getResources().getDisplayMetrics().density;
+        this.enterPxPerSecond = ENTER_LOW_DETAIL_DP_PER_SECOND * density;
+        this.exitPxPerSecond = EXIT_LOW_DETAIL_DP_PER_SECOND * density;
+        recyclerView.addOnScrollListener(this);
+    }
+
+    @Override
+    public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+        scrollState = newState;
+        lastScrollTime = 0;
+        if (newState != RecyclerView.SCROLL_STATE_SETTLING) {
+            setLowDetail(false);
+        }
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        long now = SystemClock.uptimeMillis();
+        long elapsed = now - lastScrollTime;
+        lastScrollTime = now;
+        if (scrollState != RecyclerView.SCROLL_STATE_SETTLING || elapsed <= 0 || elapsed > 100) {
+            // No previous frame to measure against
+            return;
+        }
+        float velocity = Math.abs(dy != 0 ? dy : dx) * 1000f / elapsed;
+        if (!lowDetail && velocity > enterPxPerSecond) {
+            LOW_DETAIL_FLINGS.increment();
+            setLowDetail(true);
+        } else if (lowDetail && velocity < exitPxPerSecond) {
+            setLowDetail(false);
+        }
+    }
+
+    private void setLowDetail(boolean value) {
+        if (lowDetail != value) {
+            lowDetail = value;
+            listener.onDetailLevelChanged(value);
+        }
+    }
+}
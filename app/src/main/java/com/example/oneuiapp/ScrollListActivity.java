@@ -2,6 +2,8 @@ package com.example.oneuiapp;
 
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.coordinatorlayout.widget.CoordinatorLayout;
+import androidx.core.content.ContextCompat;
+import androidx.indexscroll.widget.SeslIndexScrollView;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import androidx.appcompat.widget.Toolbar;
@@ -9,45 +11,85 @@ import androidx.appcompat.widget.Toolbar;
 import com.google.android.material.appbar.AppBarLayout;
 import com.google.android.material.appbar.CollapsingToolbarLayout;
 
+import android.content.Context;
+import android.content.res.Configuration;
 import android.os.Bundle;
+import android.os.Parcelable;
 import android.view.MenuItem;
 import android.widget.Toast;
-import java.util.ArrayList;
-import java.util.List;
 
 public class ScrollListActivity extends AppCompatActivity implements ScrollListAdapter.OnItemClickListener {
 
+    private static final Metrics.Counter ACTIVITY_RECREATIONS = Metrics.counter("activity.recreations");
+
+    // The paged source loads rows on demand, so this can grow to hundreds of thousands
+    private static final int ITEM_COUNT = 200;
+    // The index bar shows at most this many sections; larger lists get larger sections
+    private static final int MAX_INDEX_SECTIONS = 20;
+    private static final int[] SECTION_SIZE_STEPS = {1, 2, 5};
+
     private CollapsingToolbarLayout collapsingToolbar;
     private Toolbar toolbar;
     private RecyclerView recyclerView;
+    private LinearLayoutManager layoutManager;
+    private SeslIndexScrollView indexScrollView;
     private ScrollListAdapter adapter;
     private ThemeManager themeManager;
     private LanguageManager languageManager;
+    private long renderedConfigVersion;
+    private ConfigRebinder configRebinder;
+    private SelectionActionMode selectionActionMode;
+    // Kept in ListStateCache with its source, so it outlives this activity
+    private ItemPageLoader pageLoader;
+    private final ScreenTelemetry telemetry = new ScreenTelemetry("ScrollListActivity");
+
+    @Override
+    protected void attachBaseContext(Context newBase) {
+        // Localize resources for this activity only; cached per language
+        super.attachBaseContext(LanguageManager.getInstance(newBase).wrapContext(newBase));
+    }
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
+        long createStart = AppTrace.beginSection("ScrollListActivity.onCreate");
+        long phaseStart;
+        telemetry.onEnter();
+        
+        // Remember which settings version this screen is rendered with
+        renderedConfigVersion = ConfigStore.getInstance(this).getVersion();
+        
         // Initialize managers before calling super.onCreate()
-        languageManager = new LanguageManager(this);
-        themeManager = new ThemeManager(this);
+        languageManager = LanguageManager.getInstance(this);
+        themeManager = ThemeManager.getInstance(this);
         
         // Apply language and theme settings
+        phaseStart = AppTrace.beginSection("ScrollListActivity.applyLanguage");
         languageManager.applyLanguage();
+        AppTrace.endSection("ScrollListActivity.applyLanguage", phaseStart);
+        phaseStart = AppTrace.beginSection("ScrollListActivity.applyTheme");
         themeManager.applyTheme();
+        AppTrace.endSection("ScrollListActivity.applyTheme", phaseStart);
         
         super.onCreate(savedInstanceState);
+        phaseStart = AppTrace.beginSection("ScrollListActivity.setContentView");
         setContentView(R.layout.activity_scroll_list);
+        AppTrace.endSection("ScrollListActivity.setContentView", phaseStart);
         
         initViews();
         setupToolbar();
         setupCollapsingToolbar();
         setupRecyclerView();
         generateListItems();
+        setupConfigRebinder();
+        
+        AppTrace.endSection("ScrollListActivity.onCreate", createStart);
     }
 
     private void initViews() {
         collapsingToolbar = findViewById(R.id.collapsing_toolbar);
         toolbar = findViewById(R.id.toolbar);
         recyclerView = findViewById(R.id.recycler_view_list);
+        indexScrollView = findViewById(R.id.index_scroll_view);
         
         // Check if required views are found
         if (toolbar == null) {
@@ -132,43 +174,200 @@ public class ScrollListActivity extends AppCompatActivity implements ScrollListA
     }
 
     private void setupRecyclerView() {
-        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        long phaseStart = AppTrace.beginSection("ScrollListActivity.setupRecyclerView");
+        
+        layoutManager = new LinearLayoutManager(this);
         recyclerView.setLayoutManager(layoutManager);
         recyclerView.setHasFixedSize(true);
+        // Reuse rows pre-inflated at startup or left by the main list
+        recyclerView.setRecycledViewPool(RowViewPool.getInstance(this).getPool());
         
         // Initialize adapter
         adapter = new ScrollListAdapter(this);
         adapter.setOnItemClickListener(this);
+        setupSelection();
         recyclerView.setAdapter(adapter);
         
-        // Add scroll listener for performance optimization
-        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+        // Fast flings bind skeleton rows; full detail returns when the list slows down
+        new ScrollGovernor(recyclerView, new ScrollGovernor.Listener() {
             @Override
-            public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
-                super.onScrollStateChanged(recyclerView, newState);
-                // Optimize performance during scrolling if needed
+            public void onDetailLevelChanged(boolean lowDetail) {
+                adapter.setLowDetail(lowDetail);
+            }
+        });
+        
+        AppTrace.endSection("ScrollListActivity.setupRecyclerView", phaseStart);
+    }
+
+    /**
+     * Long press starts selection mode. Rows come from the read-only paged source,
+     * so bulk enable and disable are offered but not delete.
+     */
+    private void setupSelection() {
+        selectionActionMode = new SelectionActionMode(this, new SelectionActionMode.Actions() {
+            @Override
+            public void onSelectAll() {
+                adapter.selectAll();
+            }
+
+            @Override
+            public void onSetSelectedEnabled(boolean enabled) {
+                adapter.setSelectedEnabled(enabled);
+            }
+
+            @Override
+            public void onDeleteSelected() {
+                if (adapter.canRemoveSelected()) {
+                    adapter.removeSelected();
+                    adapter.setSelectionMode(false);
+                }
+            }
+
+            @Override
+            public void onSelectionFinished() {
+                adapter.setSelectionMode(false);
+            }
+        }, true, false);
+        adapter.setSelectionListener(new ScrollListAdapter.SelectionListener() {
+            @Override
+            public void onSelectionModeChanged(boolean active) {
+                if (active) {
+                    selectionActionMode.start();
+                } else {
+                    selectionActionMode.finish();
+                }
+            }
+
+            @Override
+            public void onSelectionChanged(int selectedCount) {
+                selectionActionMode.setSelectedCount(selectedCount);
             }
         });
     }
 
     private void generateListItems() {
-        List<ScrollListItem> items = new ArrayList<>();
-        
-        // Create 200 list items as required
-        for (int i = 1; i <= 200; i++) {
-            ScrollListItem item = new ScrollListItem();
-            item.setTitle(getString(R.string.scroll_item_title, i));
-            item.setDescription(getString(R.string.scroll_item_description, i));
-            item.setIconResource(getIconForItem(i));
-            item.setShowChevron(true);
-            item.setEnabled(true);
-            items.add(item);
+        // Reuse the pages and sections built on a previous visit or before a recreate
+        ListStateCache cache = ListStateCache.getInstance();
+        String language = languageManager.getCurrentLanguage();
+        CachedList cached = cache.getData(ListStateCache.SCREEN_SCROLL_LIST, language);
+        if (cached == null) {
+            Context localized = languageManager.getLocalizedContext();
+            ItemPageLoader loader = new ItemPageLoader(localized);
+            // Rows are built page by page on the background executor as they scroll into view
+            cached = new CachedList(loader, new PagedDataSource<>(ITEM_COUNT, loader), buildSections(localized));
+            cache.putData(ListStateCache.SCREEN_SCROLL_LIST, language, cached);
         }
-        
-        adapter.setItems(items);
+        pageLoader = cached.loader;
+        pageLoader.adapter = adapter;
+        adapter.setDataSource(cached.source, cached.sections);
+
+        Parcelable scrollState = cache.getScrollState(ListStateCache.SCREEN_SCROLL_LIST);
+        if (scrollState != null) {
+            layoutManager.onRestoreInstanceState(scrollState);
+        }
+        setupIndexScroll();
     }
 
-    private int getIconForItem(int position) {
+    /**
+     * Numbered sections sized so the index bar stays readable: 10, 20, 50, 100... rows each.
+     * Built once per data set and language; jumping to a section is then a table lookup.
+     */
+    private ListSections buildSections(Context context) {
+        int magnitude = 10;
+        int step = 0;
+        int sectionSize = magnitude;
+        while ((ITEM_COUNT + sectionSize - 1) / sectionSize > MAX_INDEX_SECTIONS) {
+            if (++step == SECTION_SIZE_STEPS.length) {
+                step = 0;
+                magnitude *= 10;
+            }
+            sectionSize = magnitude * SECTION_SIZE_STEPS[step];
+        }
+        int[] starts = ListSections.fixedSizeStarts(ITEM_COUNT, sectionSize);
+        String[] headers = new String[starts.length];
+        String[] indexLabels = new String[starts.length];
+        for (int section = 0; section < starts.length; section++) {
+            int first = starts[section] + 1;
+            int last = Math.min(ITEM_COUNT, starts[section] + sectionSize);
+            headers[section] = context.getString(R.string.scroll_section_header, first, last);
+            indexLabels[section] = context.getString(R.string.scroll_section_index, first);
+        }
+        return new ListSections(ITEM_COUNT, starts, headers, indexLabels);
+    }
+
+    private void setupIndexScroll() {
+        if (indexScrollView == null) {
+            return;
+        }
+        indexScrollView.setIndexBarGravity(languageManager.isRtlLanguage()
+                ? SeslIndexScrollView.GRAVITY_INDEX_BAR_LEFT
+                : SeslIndexScrollView.GRAVITY_INDEX_BAR_RIGHT);
+        indexScrollView.setSimpleIndexScroll(adapter.getSections().getIndexLabels(), 0);
+        indexScrollView.setOnIndexBarEventListener(new SeslIndexScrollView.OnIndexBarEventListener() {
+            @Override
+            public void onIndexChanged(int sectionIndex) {
+                ListSections sections = adapter.getSections();
+                if (sections != null && sectionIndex >= 0 && sectionIndex < sections.getSectionCount()) {
+                    layoutManager.scrollToPositionWithOffset(sections.getPositionForSection(sectionIndex), 0);
+                }
+            }
+
+            @Override
+            public void onPressed(float v) {
+                recyclerView.stopScroll();
+            }
+
+            @Override
+            public void onReleased(float v) {
+            }
+        });
+    }
+
+    private void setupConfigRebinder() {
+        // Theme and language changes are re-applied in place; recreate() only on LTR/RTL flips
+        configRebinder = new ConfigRebinder(this);
+        configRebinder.addListener(new ConfigRebinder.Listener() {
+            @Override
+            public void onRebind(Context context, int changes) {
+                if ((changes & ConfigRebinder.CHANGE_LANGUAGE) != 0) {
+                    if (getSupportActionBar() != null) {
+                        getSupportActionBar().setTitle(context.getString(R.string.scroll_screen));
+                    }
+                    relocalizeListItems();
+                }
+                if ((changes & ConfigRebinder.CHANGE_THEME) != 0) {
+                    if (collapsingToolbar != null) {
+                        int primary = ContextCompat.getColor(context, R.color.colorPrimary);
+                        collapsingToolbar.setContentScrimColor(primary);
+                        collapsingToolbar.setStatusBarScrimColor(primary);
+                    }
+                    adapter.invalidateTextLayouts();
+                    ConfigRebinder.reinflateRows(recyclerView);
+                }
+            }
+        });
+    }
+
+    private void relocalizeListItems() {
+        // Loaded pages stay on screen until their relocalized copies arrive
+        Context localized = languageManager.getLocalizedContext();
+        pageLoader.textContext = localized;
+        adapter.invalidateTextLayouts();
+        PagedDataSource<ScrollListColumns> source = adapter.getDataSource();
+        if (source != null) {
+            source.invalidate();
+            // Same sections, headers and index labels in the new language
+            ListSections sections = buildSections(localized);
+            adapter.setSections(sections);
+            if (indexScrollView != null) {
+                indexScrollView.setSimpleIndexScroll(sections.getIndexLabels(), 0);
+            }
+            ListStateCache.getInstance().putData(ListStateCache.SCREEN_SCROLL_LIST,
+                    languageManager.getCurrentLanguage(), new CachedList(pageLoader, source, sections));
+        }
+    }
+
+    private static int getIconForItem(int position) {
         // Use a varied pattern for icons to make the list more interesting
         switch (position % 8) {
             case 0:
@@ -212,23 +411,62 @@ public class ScrollListActivity extends AppCompatActivity implements ScrollListA
     @Override
     protected void onResume() {
         super.onResume();
+        telemetry.startSampling();
         
         // Handle configuration changes
         handleConfigurationChanges();
     }
 
     private void handleConfigurationChanges() {
-        if (themeManager.hasThemeChanged() || languageManager.hasLanguageChanged()) {
-            // Recreate activity to apply changes
-            recreate();
+        ConfigStore store = ConfigStore.getInstance(this);
+        if (store.isStale(renderedConfigVersion)) {
+            if (configRebinder.rebindLanguage()) {
+                // Applied in place; theme colours arrive through onConfigurationChanged
+                renderedConfigVersion = store.getVersion();
+            } else {
+                // Layout direction flipped, recreate activity to apply changes
+                ACTIVITY_RECREATIONS.increment();
+                recreate();
+            }
+        }
+    }
+
+    @Override
+    public void onConfigurationChanged(Configuration newConfig) {
+        super.onConfigurationChanged(newConfig);
+        if (configRebinder != null) {
+            configRebinder.onConfigurationChanged(newConfig);
         }
     }
 
+    @Override
+    protected void onPause() {
+        // Come back to the same place after a recreate or the next visit
+        ListStateCache.getInstance().putScrollState(ListStateCache.SCREEN_SCROLL_LIST,
+                layoutManager.onSaveInstanceState());
+        telemetry.stopSampling();
+        super.onPause();
+    }
+
     @Override
     protected void onDestroy() {
+        telemetry.onExit();
+        
         // Clean up resources
         if (adapter != null) {
             adapter.setOnItemClickListener(null);
+            adapter.setSelectionListener(null);
+        }
+        if (recyclerView != null) {
+            // Hand the rows back to the shared pool for the next visit
+            recyclerView.setAdapter(null);
+        }
+        if (adapter != null) {
+            // The cached source and loader must not keep this adapter alive
+            adapter.setDataSource(null);
+            if (pageLoader != null && pageLoader.adapter == adapter) {
+                pageLoader.adapter = null;
+            }
         }
         super.onDestroy();
     }
@@ -239,4 +477,51 @@ public class ScrollListActivity extends AppCompatActivity implements ScrollListA
         super.onBackPressed();
         // Optional: Add custom back animation if needed
     }
+
+    /**
+     * Builds pages from application-context strings, so a cached source holds no activity.
+     * The adapter receiving precomputed text is swapped as activities come and go.
+     */
+    private static final class ItemPageLoader implements PagedDataSource.PageLoader<ScrollListColumns> {
+
+        // Read on the background thread; replaced on in-place language changes
+        volatile Context textContext;
+        volatile ScrollListAdapter adapter;
+
+        ItemPageLoader(Context textContext) {
+            this.textContext = textContext;
+        }
+
+        @Override
+        public ScrollListColumns loadPage(int startPosition, int count) {
+            Context context = textContext;
+            ScrollListAdapter textSink = adapter;
+            ScrollListColumns page = new ScrollListColumns(startPosition + 1, count);
+            for (int i = startPosition + 1; i <= startPosition + count; i++) {
+                String title = context.getString(R.string.scroll_item_title, i);
+                String description = context.getString(R.string.scroll_item_description, i);
+                page.add(title, description, getIconForItem(i), true, true);
+                // Measured here so binding the page does no text layout on the main thread
+                if (textSink != null) {
+                    textSink.precomputeText(title, description);
+                }
+            }
+            return page;
+        }
+    }
+
+    /**
+     * What ListStateCache keeps for this screen
+     */
+    private static final class CachedList {
+        final ItemPageLoader loader;
+        final PagedDataSource<ScrollListColumns> source;
+        final ListSections sections;
+
+        CachedList(ItemPageLoader loader, PagedDataSource<ScrollListColumns> source, ListSections sections) {
+            this.loader = loader;
+            this.source = source;
+            this.sections = sections;
+        }
+    }
 }
@@ -1,149 +1,724 @@
 package com.example.oneuiapp;
 
 import android.content.Context;
-import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.view.ViewCompat;
+import androidx.recyclerview.widget.AdapterListUpdateCallback;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
-public class ScrollListAdapter extends RecyclerView.Adapter<ScrollListAdapter.ScrollListViewHolder> {
+public class ScrollListAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+
+    private static final Metrics.Histogram BIND_LATENCY = Metrics.histogram("bind.scroll_list");
+
+    // Change payload bits, OR-ed together when several fields of a row change
+    static final int PAYLOAD_TITLE = 1;
+    static final int PAYLOAD_DESCRIPTION = 1 << 1;
+    static final int PAYLOAD_ICON = 1 << 2;
+    static final int PAYLOAD_CHEVRON = 1 << 3;
+    static final int PAYLOAD_ENABLED = 1 << 4;
+    // Not a data change: rows bound as skeletons during a fling get their full detail
+    static final int PAYLOAD_FULL_DETAIL = 1 << 5;
+    // Not a data change: only the row's checkbox follows the selection
+    static final int PAYLOAD_SELECTION = 1 << 6;
+
+    // Enough for the resident pages of the paged source
+    private static final int TEXT_CACHE_SIZE = 512;
+
+    static final int VIEW_TYPE_SECTION_HEADER = R.layout.list_section_header;
+
+    private static final DiffUtil.ItemCallback<ScrollListItem> DIFF_CALLBACK = new DiffUtil.ItemCallback<ScrollListItem>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull ScrollListItem oldItem, @NonNull ScrollListItem newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull ScrollListItem oldItem, @NonNull ScrollListItem newItem) {
+            return oldItem.equals(newItem);
+        }
+
+        @Nullable
+        @Override
+        public Object getChangePayload(@NonNull ScrollListItem oldItem, @NonNull ScrollListItem newItem) {
+            int changes = 0;
+            if (!oldItem.getTitle().equals(newItem.getTitle())) {
+                changes |= PAYLOAD_TITLE;
+            }
+            if (!oldItem.getDescription().equals(newItem.getDescription())) {
+                changes |= PAYLOAD_DESCRIPTION;
+            }
+            if (oldItem.getIconResource() != newItem.getIconResource()) {
+                changes |= PAYLOAD_ICON;
+            }
+            if (oldItem.isShowChevron() != newItem.isShowChevron()) {
+                changes |= PAYLOAD_CHEVRON;
+            }
+            if (oldItem.isEnabled() != newItem.isEnabled()) {
+                changes |= PAYLOAD_ENABLED;
+            }
+            // Only the tag changed: nothing visible to update, fall back to a full bind
+            return changes != 0 ? Integer.valueOf(changes) : null;
+        }
+    };
 
     private Context context;
-    private List<ScrollListItem> items;
+    // Snapshots are diffed on the background executor; only the result is applied on the main thread
+    private final AsyncListDiffer<ScrollListItem> differ;
+    // Last published snapshot; may be ahead of the differ's current list while a diff is running.
+    // Snapshots are immutable, so a single volatile write publishes one to any reader.
+    private volatile PersistentVector<ScrollListItem> submittedItems = PersistentVector.empty();
+    // When set, rows come from columnar pages loaded on demand instead of the diffed snapshot
+    private PagedDataSource<ScrollListColumns> dataSource;
+    // Header rows between the paged rows; adapter positions include them when set
+    private ListSections sections;
     private OnItemClickListener itemClickListener;
+    // One listener for all rows, handed to each holder on bind
+    private final RowViewHolder.OnRowClickListener rowClickListener = new RowViewHolder.OnRowClickListener() {
+        @Override
+        public void onRowClick(RowViewHolder holder) {
+            int position = holder.getAdapterPosition();
+            if (selectionMode) {
+                toggleSelection(position);
+                return;
+            }
+            if (itemClickListener != null) {
+                ScrollListItem item = getItem(position);
+                if (item != null) {
+                    itemClickListener.onItemClick(item, sections != null ? sections.toDataPosition(position) : position);
+                }
+            }
+        }
+
+        @Override
+        public boolean onRowLongClick(RowViewHolder holder) {
+            int position = holder.getAdapterPosition();
+            if (!selectionMode) {
+                setSelectionMode(true);
+                toggleSelection(position);
+            } else {
+                // Long press in selection mode extends the selection from the last toggled row
+                selectRange(selectionAnchor != RecyclerView.NO_POSITION ? selectionAnchor : position, position);
+            }
+            return true;
+        }
+    };
+    // Selected rows by position: in the current snapshot, or the data position for paged
+    // rows. Positions keep the set as small as the list; item ids are process-wide and only grow.
+    private final SelectionBitSet selection = new SelectionBitSet();
+    // Paged rows are read-only, so bulk enable/disable is kept as an overlay: which rows
+    // were changed, and the state they were given
+    private final SelectionBitSet enabledOverridden = new SelectionBitSet();
+    private final SelectionBitSet enabledOverride = new SelectionBitSet();
+    private boolean selectionMode;
+    private int selectionAnchor = RecyclerView.NO_POSITION;
+    private SelectionListener selectionListener;
+    // Row texts measured and shaped off the main thread
+    private final PrecomputedTextCache titleLayouts = new PrecomputedTextCache(TEXT_CACHE_SIZE);
+    private final PrecomputedTextCache descriptionLayouts = new PrecomputedTextCache(TEXT_CACHE_SIZE);
+    // Set while flinging fast: rows bind as skeletons and description layouts are not precomputed.
+    // Read by page loaders on the background thread.
+    private volatile boolean lowDetail;
+    private final Runnable restoreDetail = new Runnable() {
+        @Override
+        public void run() {
+            // Rows that are not skeletons ignore this payload
+            notifyItemRangeChanged(0, getItemCount(), PAYLOAD_FULL_DETAIL);
+        }
+    };
 
     public interface OnItemClickListener {
         void onItemClick(ScrollListItem item, int position);
     }
 
+    public interface SelectionListener {
+        void onSelectionModeChanged(boolean active);
+
+        void onSelectionChanged(int selectedCount);
+    }
+
     public ScrollListAdapter(Context context) {
         this.context = context;
-        this.items = new ArrayList<>();
+        this.differ = new AsyncListDiffer<>(new AdapterListUpdateCallback(this),
+                new AsyncDifferConfig.Builder<>(DIFF_CALLBACK)
+                        .setBackgroundThreadExecutor(AppExecutors.background())
+                        .build());
+        differ.addListListener(new AsyncListDiffer.ListListener<ScrollListItem>() {
+            @Override
+            public void onCurrentListChanged(@NonNull List<ScrollListItem> previousList,
+                                             @NonNull List<ScrollListItem> currentList) {
+                remapSelection(previousList, currentList);
+            }
+        });
+        setHasStableIds(true);
     }
 
+    /**
+     * Submit a new snapshot. Passing a PersistentVector shares it as is; any other list is copied once.
+     */
     public void setItems(List<ScrollListItem> items) {
-        this.items.clear();
-        if (items != null) {
-            this.items.addAll(items);
-        }
-        notifyDataSetChanged();
+        submit(items != null ? PersistentVector.copyOf(items) : PersistentVector.<ScrollListItem>empty());
     }
 
     public void addItem(ScrollListItem item) {
         if (item != null) {
-            this.items.add(item);
-            notifyItemInserted(items.size() - 1);
+            submit(submittedItems.plus(item));
         }
     }
 
     public void addItems(List<ScrollListItem> newItems) {
         if (newItems != null && !newItems.isEmpty()) {
-            int startPosition = this.items.size();
-            this.items.addAll(newItems);
-            notifyItemRangeInserted(startPosition, newItems.size());
+            submit(submittedItems.plusAll(newItems));
         }
     }
 
     public void clearItems() {
-        int itemCount = this.items.size();
-        this.items.clear();
-        notifyItemRangeRemoved(0, itemCount);
+        submit(PersistentVector.<ScrollListItem>empty());
+    }
+
+    /**
+     * Replace one row; the item's id decides whether it is the same row or a new one
+     */
+    public void updateItem(int position, ScrollListItem item) {
+        PersistentVector<ScrollListItem> items = submittedItems;
+        if (item != null && position >= 0 && position < items.size()) {
+            submit(items.with(position, item));
+        }
+    }
+
+    /**
+     * Back the list with a paged source; positions without a loaded page bind as placeholders.
+     * Pass null to go back to submitted snapshots.
+     */
+    public void setDataSource(PagedDataSource<ScrollListColumns> source) {
+        setDataSource(source, null);
+    }
+
+    /**
+     * Paged source with a section header before each section's rows. The sections must cover
+     * exactly the source's rows.
+     */
+    public void setDataSource(PagedDataSource<ScrollListColumns> source, ListSections sections) {
+        if (dataSource != null) {
+            dataSource.setCallback(null);
+        }
+        // Ids of the new source mean other rows
+        selection.clear();
+        enabledOverridden.clear();
+        enabledOverride.clear();
+        dataSource = source;
+        this.sections = source != null ? sections : null;
+        if (source != null) {
+            source.setCallback(new PagedDataSource.Callback() {
+                @Override
+                public void onRangeLoaded(int startPosition, int count) {
+                    ListSections current = ScrollListAdapter.this.sections;
+                    if (current == null) {
+                        notifyItemRangeChanged(startPosition, count);
+                        return;
+                    }
+                    // Headers inside the page's range shift the rows after them
+                    int first = current.toAdapterPosition(startPosition);
+                    int last = current.toAdapterPosition(startPosition + count - 1);
+                    notifyItemRangeChanged(first, last - first + 1);
+                }
+            });
+        }
+        notifyDataSetChanged();
+    }
+
+    /**
+     * Replace the section table of the paged source, e.g. with headers in another language.
+     * A table with the same layout only rebinds the header rows.
+     */
+    public void setSections(ListSections newSections) {
+        ListSections oldSections = sections;
+        sections = dataSource != null ? newSections : null;
+        if (sections != null && sections.hasSameLayout(oldSections)) {
+            for (int section = 0; section < sections.getSectionCount(); section++) {
+                notifyItemChanged(sections.getPositionForSection(section));
+            }
+        } else {
+            notifyDataSetChanged();
+        }
+    }
+
+    public ListSections getSections() {
+        return sections;
+    }
+
+    public PagedDataSource<ScrollListColumns> getDataSource() {
+        return dataSource;
+    }
+
+    private void submit(PersistentVector<ScrollListItem> items) {
+        submittedItems = items;
+        differ.submitList(items);
     }
 
     public ScrollListItem getItem(int position) {
+        if (dataSource != null) {
+            if (sections != null) {
+                if (sections.isHeader(position)) {
+                    return null;
+                }
+                position = sections.toDataPosition(position);
+            }
+            // Materialized on demand; bound rows never create item objects
+            ScrollListColumns columns = dataSource.peekPage(position);
+            return columns != null ? columns.toItem(dataSource.pageOffset(position)) : null;
+        }
+        List<ScrollListItem> items = differ.getCurrentList();
         if (position >= 0 && position < items.size()) {
             return items.get(position);
         }
         return null;
     }
 
+    /**
+     * The latest snapshot, including one still being diffed. Immutable, safe to keep and read from any thread.
+     */
+    public PersistentVector<ScrollListItem> getItems() {
+        return submittedItems;
+    }
+
+    /**
+     * Measure a row's texts ahead of binding. Call from a background thread, e.g. while a page loads
+     */
+    public void precomputeText(String title, String description) {
+        titleLayouts.precompute(title);
+        // Skeleton rows show no description, and most rows loaded mid-fling only fly past
+        if (!lowDetail) {
+            descriptionLayouts.precompute(description);
+        }
+    }
+
+    /**
+     * Switch between skeleton and full rows, driven by a ScrollGovernor. Going back to
+     * full detail rebinds only the rows bound as skeletons.
+     */
+    public void setLowDetail(boolean lowDetail) {
+        if (this.lowDetail == lowDetail) {
+            return;
+        }
+        this.lowDetail = lowDetail;
+        AppExecutors.mainHandler().removeCallbacks(restoreDetail);
+        if (!lowDetail) {
+            // Posted: the governor calls this from inside a scroll callback
+            AppExecutors.mainHandler().post(restoreDetail);
+        }
+    }
+
+    /**
+     * Drop measured texts after a language, font scale or theme change
+     */
+    public void invalidateTextLayouts() {
+        titleLayouts.invalidate();
+        descriptionLayouts.invalidate();
+    }
+
     public void setOnItemClickListener(OnItemClickListener listener) {
         this.itemClickListener = listener;
     }
 
-    @NonNull
-    @Override
-    public ScrollListViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        View itemView = LayoutInflater.from(context).inflate(R.layout.list_item, parent, false);
-        return new ScrollListViewHolder(itemView);
+    public void setSelectionListener(SelectionListener listener) {
+        this.selectionListener = listener;
     }
 
-    @Override
-    public void onBindViewHolder(@NonNull ScrollListViewHolder holder, int position) {
-        ScrollListItem item = items.get(position);
-        holder.bind(item, position);
+    public boolean isSelectionMode() {
+        return selectionMode;
     }
 
-    @Override
-    public int getItemCount() {
-        return items.size();
+    /**
+     * Show or hide the checkboxes. Leaving selection mode clears the selection.
+     * Either way only the checkbox of each bound row is rebound.
+     */
+    public void setSelectionMode(boolean active) {
+        if (selectionMode == active) {
+            return;
+        }
+        selectionMode = active;
+        selectionAnchor = RecyclerView.NO_POSITION;
+        if (!active) {
+            selection.clear();
+        }
+        notifyItemRangeChanged(0, getItemCount(), PAYLOAD_SELECTION);
+        if (selectionListener != null) {
+            selectionListener.onSelectionModeChanged(active);
+            selectionListener.onSelectionChanged(selection.cardinality());
+        }
     }
 
-    public class ScrollListViewHolder extends RecyclerView.ViewHolder {
+    public int getSelectedCount() {
+        return selection.cardinality();
+    }
 
-        private ImageView iconImageView;
-        private TextView titleTextView;
-        private TextView descriptionTextView;
-        private ImageView chevronImageView;
+    public void toggleSelection(int position) {
+        int id = selectionId(position);
+        if (id < 0) {
+            return;
+        }
+        selection.toggle(id);
+        selectionAnchor = position;
+        notifyItemChanged(position, PAYLOAD_SELECTION);
+        dispatchSelectionChanged();
+    }
 
-        public ScrollListViewHolder(@NonNull View itemView) {
-            super(itemView);
-            // استخدم المعرفات الموجودة في list_item.xml (main_item_*)
-            iconImageView = itemView.findViewById(R.id.main_item_icon);
-            titleTextView = itemView.findViewById(R.id.main_item_title);
-            descriptionTextView = itemView.findViewById(R.id.main_item_description);
-            chevronImageView = itemView.findViewById(R.id.main_item_chevron);
+    /**
+     * Select every row between two adapter positions, both included
+     */
+    public void selectRange(int fromPosition, int toPosition) {
+        int low = Math.max(0, Math.min(fromPosition, toPosition));
+        int high = Math.min(getItemCount() - 1, Math.max(fromPosition, toPosition));
+        if (low > high) {
+            return;
+        }
+        if (dataSource != null) {
+            // Paged ids are data positions, so the range is contiguous: set a word at a time.
+            // A header maps to the data row before it, hence the + 1 at the low end.
+            int dataLow = sections == null ? low
+                    : sections.isHeader(low) ? sections.toDataPosition(low) + 1 : sections.toDataPosition(low);
+            int dataHigh = sections == null ? high : sections.toDataPosition(high);
+            selection.setRange(dataLow, dataHigh + 1);
+        } else {
+            selection.setRange(low, high + 1);
+        }
+        selectionAnchor = toPosition;
+        notifyItemRangeChanged(low, high - low + 1, PAYLOAD_SELECTION);
+        dispatchSelectionChanged();
+    }
 
-            itemView.setOnClickListener(new View.OnClickListener() {
-                @Override
-                public void onClick(View v) {
-                    int position = getAdapterPosition();
-                    if (position != RecyclerView.NO_POSITION && itemClickListener != null) {
-                        itemClickListener.onItemClick(items.get(position), position);
-                    }
-                }
-            });
+    public void selectAll() {
+        if (dataSource != null) {
+            selection.setAll(dataSource.size());
+        } else {
+            selection.setAll(differ.getCurrentList().size());
         }
+        notifyItemRangeChanged(0, getItemCount(), PAYLOAD_SELECTION);
+        dispatchSelectionChanged();
+    }
 
-        public void bind(ScrollListItem item, int position) {
-            if (item == null) {
-                return;
+    /**
+     * Enable or disable every selected row in one batch: a single snapshot for submitted
+     * items, or the enabled overlay for paged rows
+     */
+    public void setSelectedEnabled(boolean enabled) {
+        if (selection.isEmpty()) {
+            return;
+        }
+        if (dataSource != null) {
+            enabledOverridden.or(selection);
+            if (enabled) {
+                enabledOverride.or(selection);
+            } else {
+                enabledOverride.andNot(selection);
             }
+            notifyItemRangeChanged(0, getItemCount(), PAYLOAD_ENABLED);
+            return;
+        }
+        // Applied to the latest snapshot, which may be ahead of the positions on screen
+        Set<Long> selectedIds = selectedItemIds();
+        PersistentVector<ScrollListItem> items = submittedItems;
+        List<ScrollListItem> updated = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            ScrollListItem item = items.get(i);
+            updated.add(selectedIds.contains(item.getId()) ? item.withEnabled(enabled) : item);
+        }
+        submit(PersistentVector.copyOf(updated));
+    }
 
-            titleTextView.setText(item.getTitle());
+    /**
+     * Paged rows come from a read-only source and cannot be removed
+     */
+    public boolean canRemoveSelected() {
+        return dataSource == null;
+    }
 
-            if (item.getDescription() != null && !item.getDescription().isEmpty()) {
-                descriptionTextView.setText(item.getDescription());
-                descriptionTextView.setVisibility(View.VISIBLE);
-            } else {
-                descriptionTextView.setVisibility(View.GONE);
+    /**
+     * Remove every selected row as one snapshot, diffed once
+     *
+     * @return the number of rows removed
+     */
+    public int removeSelected() {
+        if (!canRemoveSelected()) {
+            throw new IllegalStateException("Paged rows are read-only");
+        }
+        Set<Long> selectedIds = selectedItemIds();
+        PersistentVector<ScrollListItem> items = submittedItems;
+        List<ScrollListItem> kept = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            ScrollListItem item = items.get(i);
+            if (!selectedIds.contains(item.getId())) {
+                kept.add(item);
             }
+        }
+        int removed = items.size() - kept.size();
+        selection.clear();
+        submit(PersistentVector.copyOf(kept));
+        dispatchSelectionChanged();
+        return removed;
+    }
 
-            if (item.getIconResource() != 0) {
-                iconImageView.setImageResource(item.getIconResource());
-                iconImageView.setVisibility(View.VISIBLE);
-            } else {
-                iconImageView.setVisibility(View.GONE);
+    /**
+     * Selection key of a row: its position in the snapshot, its data position when paged,
+     * or -1 for a header
+     */
+    private int selectionId(int position) {
+        if (dataSource == null) {
+            return position >= 0 && position < getItemCount() ? position : -1;
+        }
+        long id = getItemId(position);
+        return id >= 0 && id <= Integer.MAX_VALUE ? (int) id : -1;
+    }
+
+    /**
+     * Ids of the selected snapshot rows
+     */
+    private Set<Long> selectedItemIds() {
+        List<ScrollListItem> items = differ.getCurrentList();
+        Set<Long> ids = new HashSet<>();
+        for (int i = selection.nextSetBit(0); i >= 0 && i < items.size(); i = selection.nextSetBit(i + 1)) {
+            ids.add(items.get(i).getId());
+        }
+        return ids;
+    }
+
+    /**
+     * A new snapshot was applied: move the selection from the old positions of the selected
+     * rows to their new ones. Rows that are gone drop out of the selection.
+     */
+    private void remapSelection(List<ScrollListItem> previousList, List<ScrollListItem> currentList) {
+        if (dataSource != null || selection.isEmpty()) {
+            return;
+        }
+        int before = selection.cardinality();
+        Set<Long> selectedIds = new HashSet<>();
+        for (int i = selection.nextSetBit(0); i >= 0 && i < previousList.size(); i = selection.nextSetBit(i + 1)) {
+            selectedIds.add(previousList.get(i).getId());
+        }
+        selection.clear();
+        for (int i = 0; i < currentList.size(); i++) {
+            if (selectedIds.contains(currentList.get(i).getId())) {
+                selection.set(i, true);
             }
+        }
+        if (selection.cardinality() != before) {
+            dispatchSelectionChanged();
+        }
+    }
 
-            if (item.isShowChevron()) {
-                chevronImageView.setVisibility(View.VISIBLE);
+    private boolean isRowEnabled(int dataPosition, boolean enabled) {
+        return enabledOverridden.get(dataPosition) ? enabledOverride.get(dataPosition) : enabled;
+    }
+
+    private void dispatchSelectionChanged() {
+        if (selectionListener != null) {
+            selectionListener.onSelectionChanged(selection.cardinality());
+        }
+    }
+
+    @NonNull
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        RowViewPool rowViewPool = RowViewPool.getInstance(context);
+        if (viewType == VIEW_TYPE_SECTION_HEADER) {
+            return new SectionHeaderViewHolder(rowViewPool.inflate(parent, VIEW_TYPE_SECTION_HEADER));
+        }
+        RowViewHolder holder = new RowViewHolder(rowViewPool.inflateRow(parent));
+        titleLayouts.attach(holder.getTitleView());
+        descriptionLayouts.attach(holder.getDescriptionView());
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        if (holder instanceof SectionHeaderViewHolder) {
+            ((SectionHeaderViewHolder) holder).bind(sections.getHeader(sections.getSectionForPosition(position)));
+            return;
+        }
+        long start = AppTrace.beginSection("ScrollListAdapter.onBindViewHolder");
+        RowViewHolder row = (RowViewHolder) holder;
+        row.setOnRowClickListener(rowClickListener);
+        if (dataSource != null) {
+            int dataPosition = sections != null ? sections.toDataPosition(position) : position;
+            ScrollListColumns columns = dataSource.getPage(dataPosition);
+            if (columns != null) {
+                bind(row, columns, dataSource.pageOffset(dataPosition), dataPosition);
             } else {
-                chevronImageView.setVisibility(View.GONE);
+                row.bindPlaceholder();
+            }
+            row.setSelectionState(selectionMode, selection.get(dataPosition));
+        } else {
+            ScrollListItem item = differ.getCurrentList().get(position);
+            bind(row, item);
+            row.setSelectionState(selectionMode, selection.get(position));
+        }
+        AppTrace.endSection();
+        BIND_LATENCY.recordSince(start);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        int changes = 0;
+        // Indexed loop: no iterator allocation on the payload path
+        for (int i = 0; i < payloads.size(); i++) {
+            changes |= (Integer) payloads.get(i);
+        }
+        boolean dataChanged = (changes & ~(PAYLOAD_SELECTION | PAYLOAD_FULL_DETAIL)) != 0;
+        if (!(holder instanceof RowViewHolder)) {
+            // Headers have no checkbox and no skeleton
+            if (dataChanged) {
+                onBindViewHolder(holder, position);
+            }
+            return;
+        }
+        RowViewHolder row = (RowViewHolder) holder;
+        if (dataSource != null) {
+            // Paged rows have no per-field changes; a full bind also sets the checkbox
+            if (dataChanged || ((changes & PAYLOAD_FULL_DETAIL) != 0 && row.isSkeleton())) {
+                onBindViewHolder(holder, position);
+            } else if ((changes & PAYLOAD_SELECTION) != 0) {
+                int id = selectionId(position);
+                row.setSelectionState(selectionMode, id >= 0 && selection.get(id));
+            }
+            return;
+        }
+        bindChanges(row, position, changes);
+    }
+
+    @Override
+    public void onViewRecycled(@NonNull RecyclerView.ViewHolder holder) {
+        if (holder instanceof RowViewHolder) {
+            // The row may go to the shared pool and another list; it must not keep this adapter
+            ((RowViewHolder) holder).setOnRowClickListener(null);
+        }
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return sections != null && sections.isHeader(position) ? VIEW_TYPE_SECTION_HEADER : RowViewPool.VIEW_TYPE_ROW;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        if (dataSource != null) {
+            if (sections != null) {
+                // Headers take negative ids so they never collide with row positions
+                int section = sections.getSectionForPosition(position);
+                return sections.getPositionForSection(section) == position
+                        ? -1L - section : sections.toDataPosition(position);
             }
+            // Paged rows are identified by position; a placeholder and its loaded row share the id
+            return position;
+        }
+        return differ.getCurrentList().get(position).getId();
+    }
+
+    @Override
+    public int getItemCount() {
+        if (dataSource != null) {
+            return sections != null ? sections.getItemCount() : dataSource.size();
+        }
+        return differ.getCurrentList().size();
+    }
 
-            // accessibility: استخدم عنوان العنصر كوصف
-            itemView.setContentDescription(item.getTitle());
+    private void bind(RowViewHolder holder, ScrollListItem item) {
+        if (item == null) {
+            return;
+        }
+        bindFields(holder, item.getTitle(), item.getDescription(), item.getIconResource(),
+                item.isShowChevron(), item.isEnabled());
+    }
+
+    /**
+     * Bind a row straight from its column block, without an item object
+     */
+    private void bind(RowViewHolder holder, ScrollListColumns columns, int row, int dataPosition) {
+        bindFields(holder, columns.getTitle(row), columns.getDescription(row), columns.getIconResource(row),
+                columns.isShowChevron(row), isRowEnabled(dataPosition, columns.isEnabled(row)));
+    }
+
+    private void bindFields(RowViewHolder holder, String title, String description, int iconResource,
+                            boolean showChevron, boolean enabled) {
+        if (lowDetail) {
+            // No icon decode and no description layout until the fling slows down
+            holder.bindSkeleton(titleLayouts, title, title);
+            holder.setChevronVisible(showChevron);
+            holder.setRowEnabled(enabled);
+            return;
+        }
+        holder.clearSkeleton();
+        // accessibility: استخدم عنوان العنصر كوصف
+        holder.setTitle(titleLayouts, title, title);
+        holder.setDescription(descriptionLayouts, description);
+        holder.setIcon(iconResource);
+        holder.setChevronVisible(showChevron);
+        holder.setRowEnabled(enabled);
+    }
+
+    /**
+     * Update only the fields flagged in the payload. The flags may combine data changes
+     * with selection and detail changes dispatched in the same frame.
+     */
+    private void bindChanges(RowViewHolder holder, int position, int changes) {
+        ScrollListItem item = differ.getCurrentList().get(position);
+        if ((changes & PAYLOAD_FULL_DETAIL) != 0 && holder.isSkeleton()) {
+            // A full bind covers every field
+            bind(holder, item);
+        } else {
+            if ((changes & PAYLOAD_TITLE) != 0) {
+                holder.setTitle(titleLayouts, item.getTitle(), item.getTitle());
+            }
+            if ((changes & PAYLOAD_DESCRIPTION) != 0) {
+                holder.setDescription(descriptionLayouts, item.getDescription());
+            }
+            if ((changes & PAYLOAD_ICON) != 0) {
+                holder.setIcon(item.getIconResource());
+            }
+            if ((changes & PAYLOAD_CHEVRON) != 0) {
+                holder.setChevronVisible(item.isShowChevron());
+            }
+            if ((changes & PAYLOAD_ENABLED) != 0) {
+                holder.setRowEnabled(item.isEnabled());
+            }
+        }
+        if ((changes & PAYLOAD_SELECTION) != 0) {
+            int id = selectionId(position);
+            holder.setSelectionState(selectionMode, id >= 0 && selection.get(id));
+        }
+    }
+
+    /**
+     * Header row of a section. Holds nothing but its view, so it can sit in the shared pool
+     */
+    static final class SectionHeaderViewHolder extends RecyclerView.ViewHolder {
+
+        private final TextView titleTextView;
+
+        SectionHeaderViewHolder(@NonNull View itemView) {
+            super(itemView);
+            titleTextView = itemView.findViewById(R.id.section_header_title);
+            ViewCompat.setAccessibilityHeading(itemView, true);
+        }
 
-            itemView.setEnabled(item.isEnabled());
-            itemView.setAlpha(item.isEnabled() ? 1.0f : 0.6f);
+        void bind(String title) {
+            titleTextView.setText(title);
         }
     }
 }
@@ -0,0 +1,101 @@
+package com.example.oneuiapp;
+
+/**
+ * Column-oriented block of list rows.
+ *
+ * Instead of one ScrollListItem per row, each field lives in its own primitive array:
+ * icons in an int[], the chevron/enabled flags packed two bits per row in a long[],
+ * and title/description as int references into a StringPool so repeated texts are
+ * stored once. Rows are bound straight from the columns; toItem() materializes a
+ * ScrollListItem only when an object is really needed (e.g. a click).
+ *
+ * Filled by one thread with add(), then read-only once published.
+ */
+public final class ScrollListColumns {
+
+    // Bit offsets within a row's two flag bits
+    private static final int FLAG_CHEVRON = 0;
+    private static final int FLAG_ENABLED = 1;
+    private static final int BITS_PER_ROW = 2;
+
+    private final long firstId;
+    private final int capacity;
+    private final int[] titles;
+    private final int[] descriptions;
+    private final int[] iconResources;
+    private final long[] flags;
+    private final StringPool strings;
+    private int size;
+
+    /**
+     * @param firstId id of the first row; row i gets firstId + i
+     */
+    public ScrollListColumns(long firstId, int capacity) {
+        this.firstId = firstId;
+        this.capacity = capacity;
+        this.titles = new int[capacity];
+        this.descriptions = new int[capacity];
+        this.iconResources = new int[capacity];
+        this.flags = new long[(capacity * BITS_PER_ROW + 63) >>> 6];
+        this.strings = new StringPool(capacity);
+    }
+
+    public void add(String title, String description, int iconResource, boolean showChevron, boolean isEnabled) {
+        if (size == capacity) {
+            throw new IllegalStateException("Column block is full: " + capacity);
+        }
+        int row = size++;
+        titles[row] = strings.intern(title != null ? title : "");
+        descriptions[row] = strings.intern(description != null ? description : "");
+        iconResources[row] = iconResource;
+        setFlag(row, FLAG_CHEVRON, showChevron);
+        setFlag(row, FLAG_ENABLED, isEnabled);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getId(int row) {
+        return firstId + row;
+    }
+
+    public String getTitle(int row) {
+        return strings.get(titles[row]);
+    }
+
+    public String getDescription(int row) {
+        return strings.get(descriptions[row]);
+    }
+
+    public int getIconResource(int row) {
+        return iconResources[row];
+    }
+
+    public boolean isShowChevron(int row) {
+        return getFlag(row, FLAG_CHEVRON);
+    }
+
+    public boolean isEnabled(int row) {
+        return getFlag(row, FLAG_ENABLED);
+    }
+
+    public ScrollListItem toItem(int row) {
+        return new ScrollListItem(getId(row), getTitle(row), getDescription(row),
+                getIconResource(row), isShowChevron(row), isEnabled(row), null);
+    }
+
+    private void setFlag(int row, int flag, boolean value) {
+        int bit = row * BITS_PER_ROW + flag;
+        if (value) {
+            flags[bit >>> 6] |= 1L << bit;
+        } else {
+            flags[bit >>> 6] &= ~(1L << bit);
+        }
+    }
+
+    private boolean getFlag(int row, int flag) {
+        int bit = row * BITS_PER_ROW + flag;
+        return (flags[bit >>> 6] & (1L << bit)) != 0;
+    }
+}
@@ -1,32 +1,36 @@
 package com.example.oneuiapp;
 
-public class ScrollListItem {
-    
-    private String title;
-    private String description;
-    private int iconResource;
-    private boolean showChevron;
-    private boolean isEnabled;
-    private Object tag; // For additional data storage
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Immutable list row. Instances are shared between adapter snapshots and read from the
+ * diff thread, so nothing changes after construction; the with* methods return a copy
+ * that keeps the id. The tag should itself be immutable since it takes part in equals.
+ */
+public final class ScrollListItem {
+    
+    // Source of default stable ids so every item can be tracked across list snapshots
+    private static final AtomicLong NEXT_ID = new AtomicLong(1);
+    
+    private final long id;
+    private final String title;
+    private final String description;
+    private final int iconResource;
+    private final boolean showChevron;
+    private final boolean isEnabled;
+    private final Object tag; // For additional data storage
+    
+    // Cached on first use; DiffUtil compares every row on each snapshot
+    private int hash;
     
     // Default constructor
     public ScrollListItem() {
-        this.title = "";
-        this.description = "";
-        this.iconResource = 0;
-        this.showChevron = true;
-        this.isEnabled = true;
-        this.tag = null;
+        this("", "", 0, true, true);
     }
     
     // Full constructor
     public ScrollListItem(String title, String description, int iconResource, boolean showChevron, boolean isEnabled) {
-        this.title = title != null ? title : "";
-        this.description = description != null ? description : "";
-        this.iconResource = iconResource;
-        this.showChevron = showChevron;
-        this.isEnabled = isEnabled;
-        this.tag = null;
+        this(NEXT_ID.getAndIncrement(), title, description, iconResource, showChevron, isEnabled, null);
     }
     
     // Simplified constructor without chevron and enabled parameters
@@ -39,7 +43,23 @@ public class ScrollListItem {
         this(title, "", 0, true, true);
     }
     
+    // Constructor with an explicit id, e.g. the item's position in a fixed data set
+    public ScrollListItem(long id, String title, String description, int iconResource,
+                          boolean showChevron, boolean isEnabled, Object tag) {
+        this.id = id;
+        this.title = title != null ? title : "";
+        this.description = description != null ? description : "";
+        this.iconResource = iconResource;
+        this.showChevron = showChevron;
+        this.isEnabled = isEnabled;
+        this.tag = tag;
+    }
+    
     // Getters
+    public long getId() {
+        return id;
+    }
+    
     public String getTitle() {
         return title;
     }
@@ -64,29 +84,21 @@ public class ScrollListItem {
         return tag;
     }
     
-    // Setters
-    public void setTitle(String title) {
-        this.title = title != null ? title : "";
+    // Copies with one aspect changed; the id is kept so the copy is treated as the same row
+    public ScrollListItem withText(String title, String description) {
+        return new ScrollListItem(id, title, description, iconResource, showChevron, isEnabled, tag);
     }
     
-    public void setDescription(String description) {
-        this.description = description != null ? description : "";
+    public ScrollListItem withIconResource(int iconResource) {
+        return new ScrollListItem(id, title, description, iconResource, showChevron, isEnabled, tag);
     }
     
-    public void setIconResource(int iconResource) {
-        this.iconResource = iconResource;
+    public ScrollListItem withEnabled(boolean enabled) {
+        return new ScrollListItem(id, title, description, iconResource, showChevron, enabled, tag);
     }
     
-    public void setShowChevron(boolean showChevron) {
-        this.showChevron = showChevron;
-    }
-    
-    public void setEnabled(boolean enabled) {
-        this.isEnabled = enabled;
-    }
-    
-    public void setTag(Object tag) {
-        this.tag = tag;
+    public ScrollListItem withTag(Object tag) {
+        return new ScrollListItem(id, title, description, iconResource, showChevron, isEnabled, tag);
     }
     
     // Helper methods
@@ -106,7 +118,8 @@ public class ScrollListItem {
     @Override
     public String toString() {
         return "ScrollListItem{" +
-                "title='" + title + '\'' +
+                "id=" + id +
+                ", title='" + title + '\'' +
                 ", description='" + description + '\'' +
                 ", iconResource=" + iconResource +
                 ", showChevron=" + showChevron +
@@ -116,6 +129,7 @@ public class ScrollListItem {
     }
     
     // Override equals and hashCode for proper comparison
+    // Content equality only: the id identifies the row, equals decides whether it needs rebinding
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
@@ -123,6 +137,8 @@ public class ScrollListItem {
         
         ScrollListItem that = (ScrollListItem) obj;
         
+        // Both hashes are cached, so most unequal rows are rejected without comparing strings
+        if (hashCode() != that.hashCode()) return false;
         if (iconResource != that.iconResource) return false;
         if (showChevron != that.showChevron) return false;
         if (isEnabled != that.isEnabled) return false;
@@ -134,12 +150,17 @@ public class ScrollListItem {
     
     @Override
     public int hashCode() {
-        int result = title.hashCode();
+        int result = hash;
+        if (result != 0) {
+            return result;
+        }
+        result = title.hashCode();
         result = 31 * result + description.hashCode();
         result = 31 * result + iconResource;
         result = 31 * result + (showChevron ? 1 : 0);
         result = 31 * result + (isEnabled ? 1 : 0);
         result = 31 * result + (tag != null ? tag.hashCode() : 0);
+        hash = result;
         return result;
     }
           }
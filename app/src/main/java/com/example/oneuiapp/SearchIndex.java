@@ -0,0 +1,191 @@
+package com.example.oneuiapp;
+
+import android.os.CancellationSignal;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * فهرس بحث نصي قائم على المقاطع الثلاثية (trigrams)
+ *
+ * لكل نص تُسجل مقاطعه الثلاثية في قوائم أرقام صفوف (int) بدل كائنات، ويُحدّث الفهرس
+ * تدريجياً مع الإضافة والحذف. الاستعلام بثلاثة أحرف فأكثر يمر فقط على أقصر قائمة
+ * بين مقاطعه ثم يتحقق بـ contains، والأقصر من ذلك يمر على كل النصوص.
+ * الحذف يترك مكان الصف فارغاً ويُعاد البناء عندما تصبح الفراغات أكثر من النصف.
+ *
+ * ليس آمناً بين الخيوط: يُستخدم من خيط AppExecutors.search() فقط.
+ */
+public final class SearchIndex {
+
+    private static final int GRAM = 3;
+    // فحص الإلغاء كل هذا العدد من الصفوف
+    private static final int CANCEL_CHECK_INTERVAL = 1024;
+
+    private final Locale locale;
+    private final Map<String, IntList> postings = new HashMap<>();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private long[] ids = new long[64];
+    // النص المطبع لكل صف، null للصفوف المحذوفة
+    private String[] texts = new String[64];
+    private int slotCount;
+    private int liveCount;
+
+    public SearchIndex(Locale locale) {
+        this.locale = locale;
+    }
+
+    public int size() {
+        return liveCount;
+    }
+
+    public String normalize(String text) {
+        return text.toLowerCase(locale);
+    }
+
+    public void add(long id, String text) {
+        remove(id);
+        String normalized = normalize(text);
+        int slot = slotCount++;
+        if (slot == ids.length) {
+            ids = Arrays.copyOf(ids, slot * 2);
+            texts = Arrays.copyOf(texts, slot * 2);
+        }
+        ids[slot] = id;
+        texts[slot] = normalized;
+        slotById.put(id, slot);
+        liveCount++;
+
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            String gram = normalized.substring(i, i + GRAM);
+            IntList list = postings.get(gram);
+            if (list == null) {
+                list = new IntList();
+                postings.put(gram, list);
+            }
+            // نفس المقطع مكرر في النص نفسه يُسجل مرة واحدة
+            if (list.size == 0 || list.values[list.size - 1] != slot) {
+                list.add(slot);
+            }
+        }
+    }
+
+    public void remove(long id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        texts[slot] = null;
+        liveCount--;
+        if (slotCount > 64 && liveCount < slotCount / 2) {
+            compact();
+        }
+    }
+
+    public void clear() {
+        postings.clear();
+        slotById.clear();
+        Arrays.fill(texts, 0, slotCount, null);
+        slotCount = 0;
+        liveCount = 0;
+    }
+
+    /**
+     * مزامنة الفهرس مع قائمة كاملة جديدة: النصوص غير المتغيرة تبقى كما هي
+     */
+    public void replaceAll(long[] newIds, String[] newTexts) {
+        Set<Long> keep = new HashSet<>(newIds.length * 2);
+        for (int i = 0; i < newIds.length; i++) {
+            keep.add(newIds[i]);
+            Integer slot = slotById.get(newIds[i]);
+            if (slot == null || !texts[slot].equals(normalize(newTexts[i]))) {
+                add(newIds[i], newTexts[i]);
+            }
+        }
+        if (keep.size() < slotById.size()) {
+            for (Long id : slotById.keySet().toArray(new Long[0])) {
+                if (!keep.contains(id)) {
+                    remove(id);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return معرفات الصفوف التي تحتوي النص، أو null إذا أُلغي الاستعلام
+     */
+    public Set<Long> query(String query, CancellationSignal signal) {
+        String normalized = normalize(query);
+        Set<Long> matches = new HashSet<>();
+
+        if (normalized.length() < GRAM) {
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (slot % CANCEL_CHECK_INTERVAL == 0 && signal.isCanceled()) {
+                    return null;
+                }
+                String text = texts[slot];
+                if (text != null && text.contains(normalized)) {
+                    matches.add(ids[slot]);
+                }
+            }
+            return matches;
+        }
+
+        // أقصر قائمة بين مقاطع الاستعلام؛ مقطع غير موجود يعني لا نتائج
+        IntList shortest = null;
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            IntList list = postings.get(normalized.substring(i, i + GRAM));
+            if (list == null) {
+                return matches;
+            }
+            if (shortest == null || list.size < shortest.size) {
+                shortest = list;
+            }
+        }
+        for (int i = 0; i < shortest.size; i++) {
+            if (i % CANCEL_CHECK_INTERVAL == 0 && signal.isCanceled()) {
+                return null;
+            }
+            int slot = shortest.values[i];
+            String text = texts[slot];
+            if (text != null && text.contains(normalized)) {
+                matches.add(ids[slot]);
+            }
+        }
+        return matches;
+    }
+
+    private void compact() {
+        long[] oldIds = ids;
+        String[] oldTexts = texts;
+        int oldCount = slotCount;
+
+        postings.clear();
+        slotById.clear();
+        ids = new long[Math.max(64, liveCount * 2)];
+        texts = new String[ids.length];
+        slotCount = 0;
+        liveCount = 0;
+        for (int slot = 0; slot < oldCount; slot++) {
+            if (oldTexts[slot] != null) {
+                // النص مطبع مسبقاً والتطبيع مرة ثانية لا يغيره
+                add(oldIds[slot], oldTexts[slot]);
+            }
+        }
+    }
+
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
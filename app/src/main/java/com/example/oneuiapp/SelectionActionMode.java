@@ -0,0 +1,108 @@
+package com.example.oneuiapp;
+
+import android.view.Menu;
+import android.view.MenuItem;
+
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.view.ActionMode;
+
+/**
+ * Contextual toolbar shown while a list is in selection mode.
+ *
+ * Holds no selection itself: the adapter owns it and reports changes through its
+ * selection listener, which the activity forwards to start(), setSelectedCount() and
+ * finish(). Menu actions go back to the activity through Actions.
+ */
+public final class SelectionActionMode implements ActionMode.Callback {
+
+    public interface Actions {
+        void onSelectAll();
+
+        void onSetSelectedEnabled(boolean enabled);
+
+        void onDeleteSelected();
+
+        /**
+         * The mode was closed from the toolbar or the back key
+         */
+        void onSelectionFinished();
+    }
+
+    private final AppCompatActivity activity;
+    private final Actions actions;
+    private final boolean canToggleEnabled;
+    private final boolean canDelete;
+    private ActionMode actionMode;
+    private int selectedCount;
+
+    public SelectionActionMode(AppCompatActivity activity, Actions actions,
+                               boolean canToggleEnabled, boolean canDelete) {
+        this.activity = activity;
+        this.actions = actions;
+        this.canToggleEnabled = canToggleEnabled;
+        this.canDelete = canDelete;
+    }
+
+    public void start() {
+        if (actionMode == null) {
+            actionMode = activity.startSupportActionMode(this);
+        }
+    }
+
+    public void finish() {
+        if (actionMode != null) {
+            actionMode.finish();
+        }
+    }
+
+    public void setSelectedCount(int count) {
+        selectedCount = count;
+        if (actionMode != null) {
+            actionMode.setTitle(activity.getString(R.string.selected_count, count));
+            actionMode.invalidate();
+        }
+    }
+
+    @Override
+    public boolean onCreateActionMode(ActionMode mode, Menu menu) {
+        mode.getMenuInflater().inflate(R.menu.menu_selection, menu);
+        menu.findItem(R.id.action_enable).setVisible(canToggleEnabled);
+        menu.findItem(R.id.action_disable).setVisible(canToggleEnabled);
+        menu.findItem(R.id.action_delete).setVisible(canDelete);
+        mode.setTitle(activity.getString(R.string.selected_count, selectedCount));
+        return true;
+    }
+
+    @Override
+    public boolean onPrepareActionMode(ActionMode mode, Menu menu) {
+        // Bulk actions need something to act on
+        boolean hasSelection = selectedCount > 0;
+        menu.findItem(R.id.action_enable).setEnabled(hasSelection);
+        menu.findItem(R.id.action_disable).setEnabled(hasSelection);
+        menu.findItem(R.id.action_delete).setEnabled(hasSelection);
+        return true;
+    }
+
+    @Override
+    public boolean onActionItemClicked(ActionMode mode, MenuItem item) {
+        int id = item.getItemId();
+        if (id == R.id.action_select_all) {
+            actions.onSelectAll();
+        } else if (id == R.id.action_enable) {
+            actions.onSetSelectedEnabled(true);
+        } else if (id == R.id.action_disable) {
+            actions.onSetSelectedEnabled(false);
+        } else if (id == R.id.action_delete) {
+            actions.onDeleteSelected();
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void onDestroyActionMode(ActionMode mode) {
+        actionMode = null;
+        actions.onSelectionFinished();
+    }
+}
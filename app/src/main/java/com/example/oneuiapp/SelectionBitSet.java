@@ -0,0 +1,145 @@
+package com.example.oneuiapp;
+
+import java.util.Arrays;
+
+/**
+ * مجموعة مضغوطة من أرقام int غير سالبة، بت واحد لكل رقم في مصفوفة long[]
+ *
+ * للتحديد والعلامات على مستوى الصف في القوائم الكبيرة: مليون صف تكلّف 125 KB،
+ * وتحديد الكل وتحديد النطاق ودمج مجموعتين تعمل على كلمة كاملة (64 صفاً) في كل خطوة.
+ * غير آمنة للخيوط؛ تُستخدم من الخيط الرئيسي فقط.
+ */
+public final class SelectionBitSet {
+
+    private static final int ADDRESS_BITS = 6;
+    private static final long WORD_MASK = 0xffffffffffffffffL;
+
+    private long[] words = new long[1];
+    private int count;
+
+    public boolean get(int id) {
+        int word = id >>> ADDRESS_BITS;
+        return word < words.length && (words[word] & (1L << id)) != 0;
+    }
+
+    public void set(int id, boolean value) {
+        if (value) {
+            ensureCapacity(id + 1);
+            int word = id >>> ADDRESS_BITS;
+            long before = words[word];
+            words[word] |= 1L << id;
+            if (before != words[word]) {
+                count++;
+            }
+        } else {
+            int word = id >>> ADDRESS_BITS;
+            if (word < words.length && (words[word] & (1L << id)) != 0) {
+                words[word] &= ~(1L << id);
+                count--;
+            }
+        }
+    }
+
+    /**
+     * @return الحالة الجديدة للرقم
+     */
+    public boolean toggle(int id) {
+        boolean value = !get(id);
+        set(id, value);
+        return value;
+    }
+
+    /**
+     * تعيين كل الأرقام في [from, to)
+     */
+    public void setRange(int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        ensureCapacity(to);
+        int startWord = from >>> ADDRESS_BITS;
+        int endWord = (to - 1) >>> ADDRESS_BITS;
+        long firstMask = WORD_MASK << from;
+        long lastMask = WORD_MASK >>> -to;
+        if (startWord == endWord) {
+            words[startWord] |= firstMask & lastMask;
+        } else {
+            words[startWord] |= firstMask;
+            Arrays.fill(words, startWord + 1, endWord, WORD_MASK);
+            words[endWord] |= lastMask;
+        }
+        recount();
+    }
+
+    /**
+     * تعيين الأرقام من 0 إلى size - 1، كلمة في كل خطوة
+     */
+    public void setAll(int size) {
+        clear();
+        setRange(0, size);
+    }
+
+    public void clear() {
+        Arrays.fill(words, 0);
+        count = 0;
+    }
+
+    public void or(SelectionBitSet other) {
+        ensureCapacity(other.words.length << ADDRESS_BITS);
+        for (int i = 0; i < other.words.length; i++) {
+            words[i] |= other.words[i];
+        }
+        recount();
+    }
+
+    public void andNot(SelectionBitSet other) {
+        int shared = Math.min(words.length, other.words.length);
+        for (int i = 0; i < shared; i++) {
+            words[i] &= ~other.words[i];
+        }
+        recount();
+    }
+
+    public int cardinality() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * @return أول رقم معيّن عند from أو بعده، أو -1
+     */
+    public int nextSetBit(int from) {
+        int word = from >>> ADDRESS_BITS;
+        if (word >= words.length) {
+            return -1;
+        }
+        long bits = words[word] & (WORD_MASK << from);
+        while (true) {
+            if (bits != 0) {
+                return (word << ADDRESS_BITS) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word == words.length) {
+                return -1;
+            }
+            bits = words[word];
+        }
+    }
+
+    private void ensureCapacity(int bits) {
+        int needed = (bits + 63) >>> ADDRESS_BITS;
+        if (needed > words.length) {
+            words = Arrays.copyOf(words, Math.max(needed, words.length * 2));
+        }
+    }
+
+    private void recount() {
+        int total = 0;
+        for (long word : words) {
+            total += Long.bitCount(word);
+        }
+        count = total;
+    }
+}
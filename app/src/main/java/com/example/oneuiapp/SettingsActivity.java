@@ -2,9 +2,11 @@ package com.example.oneuiapp;
 
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.coordinatorlayout.widget.CoordinatorLayout;
+import androidx.core.content.ContextCompat;
 import androidx.preference.ListPreference;
 import androidx.preference.Preference;
 import androidx.preference.PreferenceCategory;
+import androidx.preference.PreferenceDataStore;
 import androidx.preference.PreferenceFragmentCompat;
 import androidx.preference.PreferenceScreen;
 import androidx.appcompat.widget.Toolbar;
@@ -12,30 +14,74 @@ import androidx.appcompat.widget.Toolbar;
 import com.google.android.material.appbar.AppBarLayout;
 import com.google.android.material.appbar.CollapsingToolbarLayout;
 
+import android.content.Context;
 import android.content.Intent;
+import android.content.res.Configuration;
 import android.os.Bundle;
 import android.view.MenuItem;
 import android.widget.Toast;
 
 public class SettingsActivity extends AppCompatActivity {
 
+    private static final Metrics.Counter ACTIVITY_RECREATIONS = Metrics.counter("activity.recreations");
+    
+    // Rapid successive changes (e.g. theme then language) result in a single refresh
+    private static final long CONFIG_REFRESH_DELAY_MS = 300;
+
     private CollapsingToolbarLayout collapsingToolbar;
     private Toolbar toolbar;
     private ThemeManager themeManager;
     private LanguageManager languageManager;
+    private long renderedConfigVersion;
+    private ConfigRebinder configRebinder;
+    private final ScreenTelemetry telemetry = new ScreenTelemetry("SettingsActivity");
+    
+    private final Runnable configRefreshRunnable = new Runnable() {
+        @Override
+        public void run() {
+            handleConfigurationChanges();
+        }
+    };
+    
+    private final ConfigStore.OnConfigChangedListener configChangedListener = new ConfigStore.OnConfigChangedListener() {
+        @Override
+        public void onConfigChanged(long version) {
+            AppExecutors.mainHandler().removeCallbacks(configRefreshRunnable);
+            AppExecutors.mainHandler().postDelayed(configRefreshRunnable, CONFIG_REFRESH_DELAY_MS);
+        }
+    };
+
+    @Override
+    protected void attachBaseContext(Context newBase) {
+        // Localize resources for this activity only; cached per language
+        super.attachBaseContext(LanguageManager.getInstance(newBase).wrapContext(newBase));
+    }
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
+        long createStart = AppTrace.beginSection("SettingsActivity.onCreate");
+        long phaseStart;
+        telemetry.onEnter();
+        
+        // Remember which settings version this screen is rendered with
+        renderedConfigVersion = ConfigStore.getInstance(this).getVersion();
+        
         // Initialize managers before calling super.onCreate()
-        languageManager = new LanguageManager(this);
-        themeManager = new ThemeManager(this);
+        languageManager = LanguageManager.getInstance(this);
+        themeManager = ThemeManager.getInstance(this);
         
         // Apply language and theme settings
+        phaseStart = AppTrace.beginSection("SettingsActivity.applyLanguage");
         languageManager.applyLanguage();
+        AppTrace.endSection("SettingsActivity.applyLanguage", phaseStart);
+        phaseStart = AppTrace.beginSection("SettingsActivity.applyTheme");
         themeManager.applyTheme();
+        AppTrace.endSection("SettingsActivity.applyTheme", phaseStart);
         
         super.onCreate(savedInstanceState);
+        phaseStart = AppTrace.beginSection("SettingsActivity.setContentView");
         setContentView(R.layout.activity_settings);
+        AppTrace.endSection("SettingsActivity.setContentView", phaseStart);
         
         initViews();
         setupToolbar();
@@ -48,6 +94,9 @@ public class SettingsActivity extends AppCompatActivity {
                     .replace(R.id.settings_container, new SettingsFragment())
                     .commit();
         }
+        setupConfigRebinder();
+        
+        AppTrace.endSection("SettingsActivity.onCreate", createStart);
     }
 
     private void initViews() {
@@ -111,6 +160,33 @@ public class SettingsActivity extends AppCompatActivity {
         }
     }
 
+    private void setupConfigRebinder() {
+        // Theme and language changes are re-applied in place; recreate() only on LTR/RTL flips
+        configRebinder = new ConfigRebinder(this);
+        configRebinder.addListener(new ConfigRebinder.Listener() {
+            @Override
+            public void onRebind(Context context, int changes) {
+                if (collapsingToolbar != null) {
+                    if ((changes & ConfigRebinder.CHANGE_LANGUAGE) != 0) {
+                        collapsingToolbar.setTitle(context.getString(R.string.settings));
+                    }
+                    if ((changes & ConfigRebinder.CHANGE_THEME) != 0) {
+                        int primary = ContextCompat.getColor(context, R.color.colorPrimary);
+                        collapsingToolbar.setContentScrimColor(primary);
+                        collapsingToolbar.setStatusBarScrimColor(primary);
+                    }
+                }
+                // The preference list is cheap to rebuild and picks up both text and colours
+                if (!isFinishing() && !getSupportFragmentManager().isStateSaved()) {
+                    getSupportFragmentManager()
+                            .beginTransaction()
+                            .replace(R.id.settings_container, new SettingsFragment())
+                            .commit();
+                }
+            }
+        });
+    }
+
     private void updateToolbarState(boolean isCollapsed) {
         // Optional: Add custom behavior when toolbar collapses/expands
         // The title animation is handled automatically by SESL CollapsingToolbarLayout
@@ -133,15 +209,46 @@ public class SettingsActivity extends AppCompatActivity {
     @Override
     protected void onResume() {
         super.onResume();
+        telemetry.startSampling();
         
         // Handle configuration changes
         handleConfigurationChanges();
+        ConfigStore.getInstance(this).addListener(configChangedListener);
+    }
+
+    @Override
+    protected void onPause() {
+        ConfigStore.getInstance(this).removeListener(configChangedListener);
+        AppExecutors.mainHandler().removeCallbacks(configRefreshRunnable);
+        telemetry.stopSampling();
+        super.onPause();
+    }
+
+    @Override
+    protected void onDestroy() {
+        telemetry.onExit();
+        super.onDestroy();
     }
 
     private void handleConfigurationChanges() {
-        if (themeManager.hasThemeChanged() || languageManager.hasLanguageChanged()) {
-            // Recreate activity to apply changes
-            recreate();
+        ConfigStore store = ConfigStore.getInstance(this);
+        if (store.isStale(renderedConfigVersion)) {
+            if (configRebinder.rebindLanguage()) {
+                // Applied in place; theme colours arrive through onConfigurationChanged
+                renderedConfigVersion = store.getVersion();
+            } else {
+                // Layout direction flipped, recreate activity to apply changes
+                ACTIVITY_RECREATIONS.increment();
+                recreate();
+            }
+        }
+    }
+
+    @Override
+    public void onConfigurationChanged(Configuration newConfig) {
+        super.onConfigurationChanged(newConfig);
+        if (configRebinder != null) {
+            configRebinder.onConfigurationChanged(newConfig);
         }
     }
 
@@ -152,12 +259,13 @@ public class SettingsActivity extends AppCompatActivity {
         
         @Override
         public void onCreatePreferences(Bundle savedInstanceState, String rootKey) {
-            // Initialize preferences with custom name
-            getPreferenceManager().setSharedPreferencesName("app_preferences");
+            // Persist preferences into the unified settings file instead of an XML SharedPreferences file
+            getPreferenceManager().setPreferenceDataStore(
+                    new SettingsDataStore(ConfigStore.getInstance(requireContext()).getSettings()));
             
             // Initialize managers
-            themeManager = new ThemeManager(requireContext());
-            languageManager = new LanguageManager(requireContext());
+            themeManager = ThemeManager.getInstance(requireContext());
+            languageManager = LanguageManager.getInstance(requireContext());
             
             // Create preferences screen programmatically
             createPreferencesScreen();
@@ -172,6 +280,9 @@ public class SettingsActivity extends AppCompatActivity {
             
             // Create General category
             createGeneralCategory(preferenceScreen);
+            
+            // Create Diagnostics category
+            createDiagnosticsCategory(preferenceScreen);
         }
         
         private void createAppearanceCategory(PreferenceScreen preferenceScreen) {
@@ -200,9 +311,26 @@ public class SettingsActivity extends AppCompatActivity {
             generalCategory.addPreference(notificationsPreference);
         }
         
+        private void createDiagnosticsCategory(PreferenceScreen preferenceScreen) {
+            // Diagnostics category
+            PreferenceCategory diagnosticsCategory = new PreferenceCategory(requireContext());
+            diagnosticsCategory.setTitle(getString(R.string.category_diagnostics));
+            preferenceScreen.addPreference(diagnosticsCategory);
+            
+            // Performance diagnostics screen
+            Preference diagnosticsPreference = new Preference(requireContext());
+            diagnosticsPreference.setKey("performance_diagnostics");
+            diagnosticsPreference.setTitle(getString(R.string.performance_diagnostics));
+            diagnosticsPreference.setSummary(getString(R.string.performance_diagnostics_summary));
+            diagnosticsPreference.setIntent(new Intent(requireContext(), DiagnosticsActivity.class));
+            diagnosticsCategory.addPreference(diagnosticsPreference);
+        }
+        
         private ListPreference createLanguagePreference() {
             ListPreference languagePreference = new ListPreference(requireContext());
             languagePreference.setKey("language");
+            // The value lives in ConfigStore; the preference only mirrors it
+            languagePreference.setPersistent(false);
             languagePreference.setTitle(getString(R.string.language));
             languagePreference.setSummary(getString(R.string.language_summary));
             languagePreference.setDialogTitle(getString(R.string.language));
@@ -235,11 +363,7 @@ public class SettingsActivity extends AppCompatActivity {
                     // Update summary
                     updateLanguageSummary((ListPreference) preference);
                     
-                    // Recreate activity to apply changes
-                    if (getActivity() != null) {
-                        getActivity().recreate();
-                    }
-                    
+                    // SettingsActivity listens for the new config version and refreshes once
                     return true;
                 }
             });
@@ -250,6 +374,8 @@ public class SettingsActivity extends AppCompatActivity {
         private ListPreference createThemePreference() {
             ListPreference themePreference = new ListPreference(requireContext());
             themePreference.setKey("theme");
+            // The value lives in ConfigStore; the preference only mirrors it
+            themePreference.setPersistent(false);
             themePreference.setTitle(getString(R.string.theme));
             themePreference.setSummary(getString(R.string.theme_summary));
             themePreference.setDialogTitle(getString(R.string.theme));
@@ -284,11 +410,7 @@ public class SettingsActivity extends AppCompatActivity {
                     // Update summary
                     updateThemeSummary((ListPreference) preference);
                     
-                    // Recreate activity to apply changes
-                    if (getActivity() != null) {
-                        getActivity().recreate();
-                    }
-                    
+                    // SettingsActivity listens for the new config version and refreshes once
                     return true;
                 }
             });
@@ -337,5 +459,57 @@ public class SettingsActivity extends AppCompatActivity {
             // Intent intent = new Intent(getContext(), NotificationsActivity.class);
             // startActivity(intent);
         }
+        
+        /**
+         * Routes preference reads and writes to SettingsFile
+         */
+        private static class SettingsDataStore extends PreferenceDataStore {
+            
+            private final SettingsFile settings;
+            
+            SettingsDataStore(SettingsFile settings) {
+                this.settings = settings;
+            }
+            
+            @Override
+            public void putString(String key, String value) {
+                settings.putString(key, value);
+            }
+            
+            @Override
+            public String getString(String key, String defValue) {
+                return settings.getString(key, defValue);
+            }
+            
+            @Override
+            public void putBoolean(String key, boolean value) {
+                settings.putBoolean(key, value);
+            }
+            
+            @Override
+            public boolean getBoolean(String key, boolean defValue) {
+                return settings.getBoolean(key, defValue);
+            }
+            
+            @Override
+            public void putInt(String key, int value) {
+                settings.putInt(key, value);
+            }
+            
+            @Override
+            public int getInt(String key, int defValue) {
+                return settings.getInt(key, defValue);
+            }
+            
+            @Override
+            public void putLong(String key, long value) {
+                settings.putLong(key, value);
+            }
+            
+            @Override
+            public long getLong(String key, long defValue) {
+                return settings.getLong(key, defValue);
+            }
+        }
     }
 }
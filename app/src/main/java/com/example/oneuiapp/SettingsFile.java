@@ -0,0 +1,280 @@
+package com.example.oneuiapp;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Build;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ملف إعدادات واحد مضغوط بأنواع محددة بدلاً من ثلاثة ملفات SharedPreferences
+ *
+ * الصيغة: MAGIC, SCHEMA_VERSION, عدد المفاتيح، ثم لكل مفتاح: الاسم، نوع القيمة، القيمة.
+ * الكتابة تتم على خيط الكاتب المخصص إلى ملف مؤقت ثم fsync ثم rename، فلا يُترك
+ * الملف نصف مكتوب ولا تدخل الكتابة في QueuedWork التي ينتظرها الخيط الرئيسي.
+ * التغييرات المتتالية قبل بدء الكتابة تُدمج في كتابة واحدة.
+ */
+public final class SettingsFile {
+
+    private static final String TAG = "SettingsFile";
+
+    private static final String FILE_NAME = "settings.bin";
+    private static final int MAGIC = 0x4F554953; // "OUIS"
+
+    // الإصدار 0 يعني ملفات SharedPreferences القديمة
+    static final int SCHEMA_VERSION = 1;
+
+    private static final String[] LEGACY_PREFERENCES = {
+            "theme_preferences", "language_preferences", "app_preferences"
+    };
+
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_BOOLEAN = 2;
+    private static final byte TYPE_INT = 3;
+    private static final byte TYPE_LONG = 4;
+
+    private static final Metrics.Counter WRITES = Metrics.counter("settings.writes");
+
+    private final Context context;
+    private final File file;
+    private final Map<String, Object> values = new HashMap<>();
+    private boolean writeScheduled;
+
+    public SettingsFile(Context context) {
+        this.context = context.getApplicationContext();
+        this.file = new File(this.context.getFilesDir(), FILE_NAME);
+    }
+
+    /**
+     * قراءة الملف أو ترحيل الملفات القديمة. تُستدعى مرة واحدة على خيط القرص.
+     */
+    public void load() {
+        long start = AppTrace.beginSection("SettingsFile.load");
+        try {
+            int version = 0;
+            if (file.exists()) {
+                try {
+                    version = read();
+                } catch (IOException e) {
+                    AppLog.e(TAG, "ملف الإعدادات تالف، سيتم إعادة إنشائه", e);
+                    synchronized (values) {
+                        values.clear();
+                    }
+                }
+            }
+            if (version < SCHEMA_VERSION) {
+                migrate(version);
+            }
+        } finally {
+            AppTrace.endSection("SettingsFile.load", start);
+        }
+    }
+
+    private int read() throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Bad settings file header");
+            }
+            int version = in.readInt();
+            int count = in.readInt();
+            Map<String, Object> loaded = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                String key = in.readUTF();
+                byte type = in.readByte();
+                switch (type) {
+                    case TYPE_STRING:
+                        loaded.put(key, in.readUTF());
+                        break;
+                    case TYPE_BOOLEAN:
+                        loaded.put(key, in.readBoolean());
+                        break;
+                    case TYPE_INT:
+                        loaded.put(key, in.readInt());
+                        break;
+                    case TYPE_LONG:
+                        loaded.put(key, in.readLong());
+                        break;
+                    default:
+                        throw new IOException("Unknown value type " + type + " for " + key);
+                }
+            }
+            synchronized (values) {
+                values.clear();
+                values.putAll(loaded);
+            }
+            return version;
+        } finally {
+            in.close();
+        }
+    }
+
+    private void migrate(int fromVersion) {
+        switch (fromVersion) {
+            case 0:
+                importLegacyPreferences();
+                // الإصدارات القادمة تضيف حالاتها هنا بالترتيب دون break
+            default:
+                break;
+        }
+        // كتابة متزامنة هنا لأننا على خيط القرص، ثم حذف الملفات القديمة بعد نجاحها فقط
+        if (write() && fromVersion == 0) {
+            deleteLegacyPreferences();
+        }
+        AppLog.i(TAG, "تم ترحيل الإعدادات من الإصدار " + fromVersion + " إلى " + SCHEMA_VERSION);
+    }
+
+    private void importLegacyPreferences() {
+        synchronized (values) {
+            for (String name : LEGACY_PREFERENCES) {
+                SharedPreferences preferences = context.getSharedPreferences(name, Context.MODE_PRIVATE);
+                for (Map.Entry<String, ?> entry : preferences.getAll().entrySet()) {
+                    Object value = entry.getValue();
+                    // الأعلام القديمة theme_changed/language_changed لم تعد مستخدمة
+                    if (entry.getKey().endsWith("_changed")) {
+                        continue;
+                    }
+                    if (value instanceof String || value instanceof Boolean
+                            || value instanceof Integer || value instanceof Long) {
+                        values.put(entry.getKey(), value);
+                    }
+                }
+            }
+        }
+    }
+
+    private void deleteLegacyPreferences() {
+        for (String name : LEGACY_PREFERENCES) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+                context.deleteSharedPreferences(name);
+            } else {
+                context.getSharedPreferences(name, Context.MODE_PRIVATE).edit().clear().commit();
+            }
+        }
+    }
+
+    public String getString(String key, String defaultValue) {
+        Object value = get(key);
+        return value instanceof String ? (String) value : defaultValue;
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        Object value = get(key);
+        return value instanceof Boolean ? (Boolean) value : defaultValue;
+    }
+
+    public int getInt(String key, int defaultValue) {
+        Object value = get(key);
+        return value instanceof Integer ? (Integer) value : defaultValue;
+    }
+
+    public long getLong(String key, long defaultValue) {
+        Object value = get(key);
+        return value instanceof Long ? (Long) value : defaultValue;
+    }
+
+    public void putString(String key, String value) {
+        put(key, value);
+    }
+
+    public void putBoolean(String key, boolean value) {
+        put(key, value);
+    }
+
+    public void putInt(String key, int value) {
+        put(key, value);
+    }
+
+    public void putLong(String key, long value) {
+        put(key, value);
+    }
+
+    private Object get(String key) {
+        synchronized (values) {
+            return values.get(key);
+        }
+    }
+
+    private void put(String key, Object value) {
+        synchronized (values) {
+            Object previous = value != null ? values.put(key, value) : values.remove(key);
+            if (value == null ? previous == null : value.equals(previous)) {
+                return;
+            }
+            if (writeScheduled) {
+                return;
+            }
+            writeScheduled = true;
+        }
+        AppExecutors.settingsWriter().execute(new Runnable() {
+            @Override
+            public void run() {
+                write();
+            }
+        });
+    }
+
+    private synchronized boolean write() {
+        Map<String, Object> snapshot;
+        synchronized (values) {
+            writeScheduled = false;
+            snapshot = new HashMap<>(values);
+        }
+
+        long start = AppTrace.beginSection("SettingsFile.write");
+        File tmp = new File(file.getPath() + ".tmp");
+        try {
+            FileOutputStream fileOut = new FileOutputStream(tmp);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut));
+            try {
+                out.writeInt(MAGIC);
+                out.writeInt(SCHEMA_VERSION);
+                out.writeInt(snapshot.size());
+                for (Map.Entry<String, Object> entry : snapshot.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    writeValue(out, entry.getValue());
+                }
+                out.flush();
+                fileOut.getFD().sync();
+            } finally {
+                out.close();
+            }
+            if (!tmp.renameTo(file)) {
+                throw new IOException("Rename failed for " + tmp);
+            }
+            WRITES.increment();
+            return true;
+        } catch (IOException e) {
+            AppLog.e(TAG, "فشل حفظ ملف الإعدادات", e);
+            tmp.delete();
+            return false;
+        } finally {
+            AppTrace.endSection("SettingsFile.write", start);
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value instanceof String) {
+            out.writeByte(TYPE_STRING);
+            out.writeUTF((String) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(TYPE_INT);
+            out.writeInt((Integer) value);
+        } else {
+            out.writeByte(TYPE_LONG);
+            out.writeLong((Long) value);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.oneuiapp;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * مخزن نصوص بمراجع int: النص المكرر يُخزن مرة واحدة وتشير إليه الصفوف برقمه.
+ * يُبنى على خيط واحد ثم يُقرأ فقط بعد نشره.
+ */
+public final class StringPool {
+
+    public static final int NO_STRING = -1;
+
+    private final List<String> strings;
+    private final Map<String, Integer> indices;
+
+    public StringPool(int expectedSize) {
+        strings = new ArrayList<>(expectedSize);
+        indices = new HashMap<>(expectedSize * 2);
+    }
+
+    /**
+     * @return رقم النص في المخزن، أو NO_STRING للقيمة null
+     */
+    public int intern(String value) {
+        if (value == null) {
+            return NO_STRING;
+        }
+        Integer index = indices.get(value);
+        if (index == null) {
+            index = strings.size();
+            strings.add(value);
+            indices.put(value, index);
+        }
+        return index;
+    }
+
+    public String get(int index) {
+        return index == NO_STRING ? null : strings.get(index);
+    }
+
+    public int size() {
+        return strings.size();
+    }
+}
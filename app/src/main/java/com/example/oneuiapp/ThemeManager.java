@@ -1,27 +1,41 @@
 package com.example.oneuiapp;
 
 import android.content.Context;
-import android.content.SharedPreferences;
 import android.content.res.Configuration;
 
 import androidx.appcompat.app.AppCompatDelegate;
 
 public class ThemeManager {
     
-    private static final String PREF_NAME = "theme_preferences";
-    private static final String KEY_THEME = "selected_theme";
-    private static final String KEY_THEME_CHANGED = "theme_changed";
-    
     public static final String THEME_LIGHT = "light";
     public static final String THEME_DARK = "dark";
     public static final String THEME_SYSTEM = "system";
     
+    private static volatile ThemeManager instance;
+    
     private Context context;
-    private SharedPreferences preferences;
+    private ConfigStore store;
     
-    public ThemeManager(Context context) {
+    private ThemeManager(Context context) {
         this.context = context.getApplicationContext();
-        this.preferences = this.context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+        this.store = ConfigStore.getInstance(this.context);
+    }
+    
+    /**
+     * Application-scoped instance; reads are served from the in-memory ConfigStore
+     */
+    public static ThemeManager getInstance(Context context) {
+        ThemeManager manager = instance;
+        if (manager == null) {
+            synchronized (ThemeManager.class) {
+                manager = instance;
+                if (manager == null) {
+                    manager = new ThemeManager(context);
+                    instance = manager;
+                }
+            }
+        }
+        return manager;
     }
     
     public void setTheme(String themeMode) {
@@ -31,23 +45,21 @@ public class ThemeManager {
         
         String currentTheme = getCurrentTheme();
         if (!currentTheme.equals(themeMode)) {
-            preferences.edit()
-                    .putString(KEY_THEME, themeMode)
-                    .putBoolean(KEY_THEME_CHANGED, true)
-                    .apply();
-            
+            store.setTheme(themeMode);
             applyThemeMode(themeMode);
+            // Cached icons may come from the other day/night resources
+            DrawableCache.getInstance().clear();
         }
     }
     
     public String getCurrentTheme() {
-        return preferences.getString(KEY_THEME, THEME_SYSTEM);
+        String theme = store.getTheme();
+        return theme != null ? theme : THEME_SYSTEM;
     }
     
     public void applyTheme() {
         String savedTheme = getCurrentTheme();
         applyThemeMode(savedTheme);
-        markThemeAsApplied();
     }
     
     private void applyThemeMode(String themeMode) {
@@ -81,28 +93,22 @@ public class ThemeManager {
         }
     }
     
-    public boolean hasThemeChanged() {
-        return preferences.getBoolean(KEY_THEME_CHANGED, false);
-    }
-    
-    private void markThemeAsApplied() {
-        preferences.edit()
-                .putBoolean(KEY_THEME_CHANGED, false)
-                .apply();
-    }
-    
     public String getThemeDisplayName(String themeMode) {
         switch (themeMode) {
             case THEME_LIGHT:
-                return context.getString(R.string.theme_light);
+                return getLocalizedContext().getString(R.string.theme_light);
             case THEME_DARK:
-                return context.getString(R.string.theme_dark);
+                return getLocalizedContext().getString(R.string.theme_dark);
             case THEME_SYSTEM:
             default:
-                return context.getString(R.string.theme_system);
+                return getLocalizedContext().getString(R.string.theme_system);
         }
     }
     
+    private Context getLocalizedContext() {
+        return LanguageManager.getInstance(context).getLocalizedContext();
+    }
+    
     public boolean isThemeSupported(String themeMode) {
         return THEME_LIGHT.equals(themeMode) || 
                THEME_DARK.equals(themeMode) || 
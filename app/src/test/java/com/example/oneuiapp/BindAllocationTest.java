@@ -0,0 +1,135 @@
+package com.example.oneuiapp;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import android.content.Context;
+import android.os.Trace;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import androidx.appcompat.view.ContextThemeWrapper;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.Implementation;
+import org.robolectric.annotation.Implements;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * إعادة ربط صفوف لم تتغير بياناتها يجب ألا تخصص شيئاً: الحاويات تتجاوز استدعاءات العروض
+ * للقيم المعروضة أصلاً، والمحولات تحفظ النصوص التي تنسقها.
+ *
+ * كل محول يربط صفوفه مرتين لملء ذواكره، ثم يعيد ربطها على عدة جولات ويُقاس ما خصصه
+ * خيط الاختبار عبر ThreadMXBean. تُؤخذ أقل جولة: ما يُخصص في كل ربط يظهر في كل الجولات،
+ * أما التهيئة لمرة واحدة (تحميل الأصناف، الحقول الكسولة في Robolectric) فلا.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33, shadows = BindAllocationTest.QuietTraceShadow.class)
+public class BindAllocationTest {
+
+    private static final int WARMUP_PASSES = 2;
+    private static final int ROUNDS = 5;
+    private static final int REBIND_PASSES = 20;
+    // الميزانية الثابتة لجولة كاملة من إعادة الربط: صفر، كما على الجهاز
+    private static final long ALLOCATION_BUDGET_BYTES = 0;
+
+    private ViewGroup parent;
+    private com.sun.management.ThreadMXBean threadBean;
+
+    /**
+     * ظل Trace في Robolectric يحفظ كل قسم في طابور فيخصص بنفسه؛ على الجهاز يمر الربط
+     * إلى متتبع النظام فقط
+     */
+    @Implements(Trace.class)
+    public static class QuietTraceShadow {
+        @Implementation
+        protected static void beginSection(String sectionName) {
+        }
+
+        @Implementation
+        protected static void endSection() {
+        }
+    }
+
+    @Before
+    public void setUp() {
+        Context context = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(), R.style.OneUITheme);
+        parent = new FrameLayout(context);
+        threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    public void mainAdapterRebindDoesNotAllocate() {
+        MainAdapter adapter = new MainAdapter(parent.getContext());
+        // صفوف أقل من نصف مسافة القياس المسبق للنصوص، فلا يجدول أي ربط قياساً جديداً
+        adapter.generateSampleData(10);
+        assertRebindDoesNotAllocate(adapter);
+    }
+
+    @Test
+    public void scrollListAdapterRebindDoesNotAllocate() {
+        ScrollListAdapter adapter = new ScrollListAdapter(parent.getContext());
+        List<ScrollListItem> items = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            items.add(new ScrollListItem("Item " + i, "Description " + i, R.drawable.ic_oui_list));
+        }
+        adapter.setItems(items);
+        assertRebindDoesNotAllocate(adapter);
+    }
+
+    @Test
+    public void drawerAdapterRebindDoesNotAllocate() {
+        assertRebindDoesNotAllocate(new DrawerAdapter(parent.getContext()));
+    }
+
+    private <VH extends RecyclerView.ViewHolder> void assertRebindDoesNotAllocate(RecyclerView.Adapter<VH> adapter) {
+        int count = adapter.getItemCount();
+        assertTrue("adapter has no rows to bind", count > 0);
+        List<VH> holders = new ArrayList<>(count);
+        for (int position = 0; position < count; position++) {
+            holders.add(adapter.onCreateViewHolder(parent, adapter.getItemViewType(position)));
+        }
+        for (int pass = 0; pass < WARMUP_PASSES; pass++) {
+            bindAll(adapter, holders);
+        }
+
+        long fewest = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            // كلفة قراءة العداد نفسه ليست على المحول
+            long overhead = allocatedBytes();
+            overhead = allocatedBytes() - overhead;
+
+            long start = allocatedBytes();
+            for (int pass = 0; pass < REBIND_PASSES; pass++) {
+                bindAll(adapter, holders);
+            }
+            fewest = Math.min(fewest, allocatedBytes() - start - overhead);
+        }
+
+        assertTrue(adapter.getClass().getSimpleName() + " allocated " + fewest + " bytes rebinding "
+                        + count + " unchanged rows " + REBIND_PASSES + " times (budget "
+                        + ALLOCATION_BUDGET_BYTES + ")",
+                fewest <= ALLOCATION_BUDGET_BYTES);
+    }
+
+    private static <VH extends RecyclerView.ViewHolder> void bindAll(RecyclerView.Adapter<VH> adapter, List<VH> holders) {
+        for (int position = 0; position < holders.size(); position++) {
+            adapter.onBindViewHolder(holders.get(position), position);
+        }
+    }
+
+    private long allocatedBytes() {
+        return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.oneuiapp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.CheckBox;
+import android.widget.FrameLayout;
+import android.widget.TextView;
+
+import androidx.appcompat.view.ContextThemeWrapper;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ربط الصفوف بحمولات مختلطة في نفس الإطار: تغيير بيانات مع تغيير تحديد أو مستوى تفاصيل
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33)
+public class ScrollListAdapterPayloadTest {
+
+    private ScrollListAdapter adapter;
+    private RowViewHolder holder;
+
+    @Before
+    public void setUp() {
+        ViewGroup parent = new FrameLayout(new ContextThemeWrapper(
+                ApplicationProvider.getApplicationContext(), R.style.OneUITheme));
+        adapter = new ScrollListAdapter(parent.getContext());
+        List<ScrollListItem> items = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            items.add(new ScrollListItem("Item " + i, "Description " + i, R.drawable.ic_oui_list));
+        }
+        adapter.setItems(items);
+        holder = (RowViewHolder) adapter.onCreateViewHolder(parent, adapter.getItemViewType(0));
+        adapter.onBindViewHolder(holder, 0);
+    }
+
+    @Test
+    public void enabledAndSelectionPayloadsUpdateTheCheckbox() {
+        adapter.setSelectionMode(true);
+        adapter.toggleSelection(0);
+
+        // تفعيل/تعطيل جماعي وتغيير تحديد في نفس الإطار
+        bindPayloads(ScrollListAdapter.PAYLOAD_ENABLED, ScrollListAdapter.PAYLOAD_SELECTION);
+
+        CheckBox checkBox = holder.itemView.findViewById(R.id.main_item_checkbox);
+        assertEquals(View.VISIBLE, checkBox.getVisibility());
+        assertTrue(checkBox.isChecked());
+    }
+
+    @Test
+    public void fullDetailAndSelectionPayloadsRebindSkeletonRows() {
+        adapter.setLowDetail(true);
+        adapter.onBindViewHolder(holder, 0);
+        assertTrue(holder.isSkeleton());
+        adapter.setLowDetail(false);
+        adapter.setSelectionMode(true);
+
+        bindPayloads(ScrollListAdapter.PAYLOAD_FULL_DETAIL, ScrollListAdapter.PAYLOAD_SELECTION);
+
+        assertFalse(holder.isSkeleton());
+        TextView description = holder.itemView.findViewById(R.id.main_item_description);
+        assertEquals(View.VISIBLE, description.getVisibility());
+        CheckBox checkBox = holder.itemView.findViewById(R.id.main_item_checkbox);
+        assertEquals(View.VISIBLE, checkBox.getVisibility());
+    }
+
+    private void bindPayloads(Integer... payloads) {
+        adapter.onBindViewHolder((RecyclerView.ViewHolder) holder, 0, new ArrayList<Object>(Arrays.asList(payloads)));
+    }
+}